@@ -1,16 +1,17 @@
 package ru.practicum.shareit.booking;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
@@ -23,18 +24,13 @@ public class BookingClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return stream("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
 
@@ -51,12 +47,26 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> approveBookings(long userId, List<Long> bookingIds, boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("?approved={approved}", userId, parameters, bookingIds);
+    }
+
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return stream("/owner?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> exportBookingsByOwner(long userId, BookingExportFormat format) {
+        return stream("/owner/export?format={format}", userId, Map.of("format", format.name()));
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, String cursor) {
+        return Map.of(
                 "state", state.name(),
                 "from", from,
-                "size", size
+                "size", size,
+                "cursor", cursor == null ? "" : cursor
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 }
@@ -13,12 +13,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.SkippedServerCalls;
+
+import java.util.List;
 
 
 @Controller
@@ -27,17 +33,21 @@ import ru.practicum.shareit.booking.dto.BookingState;
 @Slf4j
 @Validated
 public class BookingController {
+	static final int MAX_BULK_IDS = 100;
+
 	private final BookingClient bookingClient;
+	private final SkippedServerCalls skippedServerCalls;
 
 	@GetMapping
 	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
-				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+				.orElseThrow(() -> skippedServerCalls.invalidRequest("Unknown state: " + stateParam));
 		log.info("Getting bookings for user {} with state {}", userId, state);
-		return bookingClient.getBookings(userId, state, from, size);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@PostMapping
@@ -62,14 +72,32 @@ public class BookingController {
 		return bookingClient.approveBooking(userId, bookingId, approved);
 	}
 
+	@PatchMapping
+	public ResponseEntity<Object> approveBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestParam Boolean approved,
+			@RequestBody @NotEmpty @Size(max = MAX_BULK_IDS) List<@Positive Long> bookingIds) {
+		log.info("User {} {} bookings {}", userId, approved ? "approving" : "rejecting", bookingIds);
+		return bookingClient.approveBookings(userId, bookingIds, approved);
+	}
+
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
-				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+				.orElseThrow(() -> skippedServerCalls.invalidRequest("Unknown state: " + stateParam));
 		log.info("Getting bookings for owner {} with state {}", userId, state);
-		return bookingClient.getBookingsByOwner(userId, state, from, size);
+		return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+	}
+
+	@GetMapping("/owner/export")
+	public ResponseEntity<Object> exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestParam(name = "format", defaultValue = "ndjson") String formatParam) {
+		BookingExportFormat format = BookingExportFormat.from(formatParam)
+				.orElseThrow(() -> skippedServerCalls.invalidRequest("Unknown format: " + formatParam));
+		log.info("Exporting bookings for owner {} as {}", userId, format);
+		return bookingClient.exportBookingsByOwner(userId, format);
 	}
 }
\ No newline at end of file
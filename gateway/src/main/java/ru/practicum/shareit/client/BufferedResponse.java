@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Fully read response that can be replayed any number of times. Responses the gateway produces
+ * itself instead of calling the server are marked as generated, so that interceptors judging the
+ * server's health can skip them.
+ */
+record BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, boolean generated) {
+
+    BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        this(status, headers, body, false);
+    }
+
+    static BufferedResponse unavailable(byte[] body, long retryAfterSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return new BufferedResponse(HttpStatus.SERVICE_UNAVAILABLE, HttpHeaders.readOnlyHttpHeaders(headers), body,
+                true);
+    }
+
+    static boolean isGenerated(ClientHttpResponse response) {
+        return response instanceof Replay replay && replay.source().generated();
+    }
+
+    int weight() {
+        return body.length;
+    }
+
+    ClientHttpResponse replay() {
+        return new Replay();
+    }
+
+    private final class Replay implements ClientHttpResponse {
+        BufferedResponse source() {
+            return BufferedResponse.this;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
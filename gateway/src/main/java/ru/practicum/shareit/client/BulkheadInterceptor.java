@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ErrorDto;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Separate pool of call slots for each endpoint family (bookings, items, users, requests), so a
+ * slow family cannot take every connection and thread. A call that gets no slot within
+ * {@code max-wait} is answered locally with 503.
+ */
+@Component
+@Order(BulkheadInterceptor.ORDER)
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+    public static final int ORDER = CircuitBreakerInterceptor.ORDER + 100;
+
+    private final ResilienceProperties.Bulkhead properties;
+    private final Map<String, Semaphore> slots = new HashMap<>();
+    private final Map<String, AtomicLong> rejected = new HashMap<>();
+    private final BufferedResponse full;
+
+    public BulkheadInterceptor(ResilienceProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.properties = properties.getBulkhead();
+        EndpointGroup.KNOWN.forEach(this::addGroup);
+        addGroup(EndpointGroup.OTHER);
+        this.full = BufferedResponse.unavailable(
+                objectMapper.writeValueAsBytes(new ErrorDto("Сервис временно недоступен, повторите запрос позже")), 1);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        String group = EndpointGroup.of(request);
+        Semaphore semaphore = slots.get(group);
+        if (!acquire(semaphore)) {
+            rejected.get(group).incrementAndGet();
+            return full.replay();
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        slots.forEach((group, semaphore) -> {
+            Gauge.builder("gateway.server.bulkhead.available", semaphore, Semaphore::availablePermits)
+                    .description("Free call slots of an endpoint family")
+                    .tag("group", group)
+                    .register(registry);
+            FunctionCounter.builder("gateway.server.bulkhead.rejected", rejected.get(group), AtomicLong::get)
+                    .description("Calls refused because the endpoint family had no free slot")
+                    .tag("group", group)
+                    .register(registry);
+        });
+    }
+
+    private void addGroup(String group) {
+        slots.put(group, new Semaphore(properties.maxConcurrentCalls(group)));
+        rejected.put(group, new AtomicLong());
+    }
+
+    private boolean acquire(Semaphore semaphore) throws InterruptedIOException {
+        try {
+            return semaphore.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Прервано ожидание свободного слота");
+        }
+    }
+}
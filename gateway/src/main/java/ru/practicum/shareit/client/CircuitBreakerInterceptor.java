@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ErrorDto;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker per endpoint family.
+ * <p>
+ * While closed, the outcomes of the last {@code sliding-window-size} calls are kept; once at least
+ * {@code minimum-calls} are recorded and the share of failures (I/O errors, 5xx or calls slower than
+ * {@code slow-call-threshold}) reaches {@code failure-rate-threshold} percent, the circuit opens and
+ * calls are answered locally with 503 for {@code open-duration}. Then {@code half-open-calls} trial
+ * calls are let through: a failure opens the circuit again, all of them succeeding closes it.
+ * Responses generated by the gateway itself are not counted.
+ */
+@Component
+@Order(CircuitBreakerInterceptor.ORDER)
+public class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+    public static final int ORDER = RequestCoalescingInterceptor.ORDER + 100;
+
+    private final ResilienceProperties.CircuitBreaker properties;
+    private final Map<String, Circuit> circuits = new HashMap<>();
+    private final BufferedResponse open;
+
+    public CircuitBreakerInterceptor(ResilienceProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.properties = properties.getCircuitBreaker();
+        EndpointGroup.KNOWN.forEach(group -> circuits.put(group, new Circuit()));
+        circuits.put(EndpointGroup.OTHER, new Circuit());
+        this.open = BufferedResponse.unavailable(
+                objectMapper.writeValueAsBytes(new ErrorDto("Сервис временно недоступен, повторите запрос позже")),
+                Math.max(1, this.properties.getOpenDuration().toSeconds()));
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        Circuit circuit = circuits.get(EndpointGroup.of(request));
+        if (!circuit.tryPass(System.nanoTime())) {
+            circuit.rejected.incrementAndGet();
+            return open.replay();
+        }
+        long started = System.nanoTime();
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(request, body);
+            return response;
+        } finally {
+            if (response == null) {
+                circuit.record(false, System.nanoTime());
+            } else if (!BufferedResponse.isGenerated(response)) {
+                circuit.record(!response.getStatusCode().is5xxServerError()
+                        && System.nanoTime() - started <= properties.getSlowCallThreshold().toNanos(),
+                        System.nanoTime());
+            } else {
+                circuit.cancel();
+            }
+        }
+    }
+
+    State state(String group) {
+        return circuits.get(group).state;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        circuits.forEach((group, circuit) -> {
+            Gauge.builder("gateway.server.circuit.state", circuit, c -> c.state.ordinal())
+                    .description("Circuit state of an endpoint family: 0 closed, 1 open, 2 half-open")
+                    .tag("group", group)
+                    .register(registry);
+            FunctionCounter.builder("gateway.server.circuit.rejected", circuit.rejected, AtomicLong::get)
+                    .description("Calls refused because the circuit of the endpoint family was open")
+                    .tag("group", group)
+                    .register(registry);
+        });
+    }
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private class Circuit {
+        private final boolean[] outcomes = new boolean[properties.getSlidingWindowSize()];
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile State state = State.CLOSED;
+        private int recorded;
+        private int failures;
+        private int next;
+        private long openedAt;
+        private int trialsStarted;
+        private int trialsSucceeded;
+
+        synchronized boolean tryPass(long now) {
+            if (state == State.OPEN) {
+                if (now - openedAt < properties.getOpenDuration().toNanos()) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialsStarted = 0;
+                trialsSucceeded = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialsStarted >= properties.getHalfOpenCalls()) {
+                    return false;
+                }
+                trialsStarted++;
+            }
+            return true;
+        }
+
+        synchronized void record(boolean succeeded, long now) {
+            if (state == State.HALF_OPEN) {
+                if (!succeeded) {
+                    open(now);
+                } else if (++trialsSucceeded >= properties.getHalfOpenCalls()) {
+                    close();
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+            if (recorded == outcomes.length) {
+                failures -= outcomes[next] ? 0 : 1;
+            } else {
+                recorded++;
+            }
+            outcomes[next] = succeeded;
+            failures += succeeded ? 0 : 1;
+            next = (next + 1) % outcomes.length;
+            if (recorded >= properties.getMinimumCalls()
+                    && failures * 100 >= properties.getFailureRateThreshold() * recorded) {
+                open(now);
+            }
+        }
+
+        synchronized void cancel() {
+            if (state == State.HALF_OPEN && trialsStarted > 0) {
+                trialsStarted--;
+            }
+        }
+
+        private void open(long now) {
+            state = State.OPEN;
+            openedAt = now;
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            recorded = 0;
+            failures = 0;
+            next = 0;
+        }
+    }
+}
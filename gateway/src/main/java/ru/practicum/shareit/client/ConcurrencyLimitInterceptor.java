@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ErrorDto;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive cap on calls in flight to the server (additive increase, multiplicative decrease).
+ * <p>
+ * Every call answered within {@code latency-threshold} without a server error raises the limit by
+ * {@code 1/limit}; a slow call, a 5xx or an I/O error multiplies it by {@code backoff-ratio}.
+ * Calls over the limit are answered locally with 503 instead of queueing on the connection pool.
+ * A permit is held until the server's response headers arrive.
+ */
+@Component
+@Order(ConcurrencyLimitInterceptor.ORDER)
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+    public static final int ORDER = BulkheadInterceptor.ORDER + 100;
+
+    private final ConcurrencyLimitProperties properties;
+    private final BufferedResponse overloaded;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, ObjectMapper objectMapper)
+            throws IOException {
+        this.properties = properties;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(properties.getInitialLimit()));
+        this.overloaded = BufferedResponse.unavailable(
+                objectMapper.writeValueAsBytes(new ErrorDto("Сервер перегружен, повторите запрос позже")), 1);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        if (!tryAcquire()) {
+            rejected.incrementAndGet();
+            return overloaded.replay();
+        }
+        long started = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            succeeded = !response.getStatusCode().is5xxServerError()
+                    && System.nanoTime() - started <= properties.getLatencyThreshold().toNanos();
+            return response;
+        } finally {
+            inFlight.decrementAndGet();
+            adjust(succeeded);
+        }
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gateway.server.concurrency.limit", this, ConcurrencyLimitInterceptor::limit)
+                .description("Current cap on calls in flight to the server")
+                .register(registry);
+        Gauge.builder("gateway.server.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Calls currently in flight to the server")
+                .register(registry);
+        FunctionCounter.builder("gateway.server.concurrency.rejected", rejected, AtomicLong::get)
+                .description("Calls refused because the concurrency limit was reached")
+                .register(registry);
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void adjust(boolean succeeded) {
+        limitBits.updateAndGet(bits -> {
+            double limit = Double.longBitsToDouble(bits);
+            double next = succeeded ? limit + 1 / limit : limit * properties.getBackoffRatio();
+            next = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), next));
+            return Double.doubleToLongBits(next);
+        });
+    }
+}
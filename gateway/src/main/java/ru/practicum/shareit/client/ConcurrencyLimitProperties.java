@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 50;
+    private int minLimit = 5;
+    private int maxLimit = 200;
+    private double backoffRatio = 0.9;
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpRequest;
+
+import java.util.Set;
+
+/**
+ * Endpoint family of a server call, taken from the first path segment.
+ */
+final class EndpointGroup {
+    static final String OTHER = "other";
+    static final Set<String> KNOWN = Set.of("bookings", "items", "users", "requests");
+
+    private EndpointGroup() {
+    }
+
+    static String of(HttpRequest request) {
+        String[] segments = RequestKey.segments(request.getURI().getPath());
+        return segments.length > 0 && KNOWN.contains(segments[0]) ? segments[0] : OTHER;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Response whose first bytes were already consumed while deciding whether to buffer it.
+ */
+class PrefixedResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+    private final InputStream body;
+
+    PrefixedResponse(ClientHttpResponse response, byte[] prefix) throws IOException {
+        this.response = response;
+        this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody());
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
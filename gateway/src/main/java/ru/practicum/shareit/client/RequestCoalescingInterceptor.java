@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets identical concurrent GETs share one call to the server.
+ * <p>
+ * The first request for a key goes upstream; requests with the same key arriving while it is in
+ * flight wait for its response instead. A write passing through the gateway detaches the calls in
+ * flight, so reads issued after the write never receive an answer computed before it.
+ * <p>
+ * A response is buffered only when another request actually joined the call; otherwise it is
+ * returned as received and keeps streaming. Responses larger than {@code max-shared-bytes} stay
+ * with the first request and the waiting ones retry on their own.
+ */
+@Component
+@Order(RequestCoalescingInterceptor.ORDER)
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+    public static final int ORDER = ResponseCacheInterceptor.ORDER + 100;
+
+    private final RequestCoalescingProperties properties;
+    private final ConcurrentMap<RequestKey, SharedCall> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public RequestCoalescingInterceptor(RequestCoalescingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            try {
+                return execution.execute(request, body);
+            } finally {
+                inFlight.clear();
+            }
+        }
+
+        RequestKey key = RequestKey.of(request);
+        SharedCall call = new SharedCall();
+        SharedCall leader = inFlight.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return call;
+            }
+            existing.followers.incrementAndGet();
+            return existing;
+        });
+        if (leader != call) {
+            BufferedResponse shared = await(leader.result);
+            if (shared != null) {
+                coalesced.incrementAndGet();
+                return shared.replay();
+            }
+            return execution.execute(request, body);
+        }
+
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            // Once removed, the call cannot gain followers, so the count below is final.
+            inFlight.remove(key, call);
+            if (call.followers.get() == 0) {
+                call.result.complete(null);
+                return response;
+            }
+            byte[] prefix = response.getBody().readNBytes(properties.getMaxSharedBytes() + 1);
+            if (prefix.length > properties.getMaxSharedBytes()) {
+                call.result.complete(null);
+                return new PrefixedResponse(response, prefix);
+            }
+            BufferedResponse buffered = new BufferedResponse(response.getStatusCode(),
+                    HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), prefix);
+            response.close();
+            call.result.complete(buffered);
+            return buffered.replay();
+        } catch (IOException | RuntimeException e) {
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.requests.coalesced", coalesced, AtomicLong::get)
+                .description("Server reads answered by a concurrent identical request")
+                .register(registry);
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Прервано ожидание ответа сервера");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static final class SharedCall {
+        private final CompletableFuture<BufferedResponse> result = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.request-coalescing")
+public class RequestCoalescingProperties {
+    private boolean enabled = true;
+    private int maxSharedBytes = 1024 * 1024;
+}
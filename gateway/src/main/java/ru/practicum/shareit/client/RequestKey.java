@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpRequest;
+
+/**
+ * Identity of an outgoing read: two requests with equal keys get the same answer from the server.
+ */
+record RequestKey(String path, String query, String userId) {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    static RequestKey of(HttpRequest request) {
+        return new RequestKey(request.getURI().getPath(), request.getURI().getRawQuery(),
+                request.getHeaders().getFirst(USER_ID_HEADER));
+    }
+
+    static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    int weight() {
+        return path.length() + (query == null ? 0 : query.length());
+    }
+
+    boolean isUnder(String resource) {
+        return path.equals("/" + resource) || path.startsWith("/" + resource + "/");
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of successful item and user reads, keyed by path, query and requesting user.
+ * <p>
+ * A write passing through the gateway drops the cached reads of the written resource and of its
+ * collections (lists and search); booking and user writes also drop all item reads because item
+ * views embed bookings and comment authors' names. Reads that started before a write are not stored. Bodies larger than
+ * {@code max-entry-bytes} are streamed through uncached.
+ */
+@Component
+@Order(ResponseCacheInterceptor.ORDER)
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+    public static final int ORDER = 100;
+    static final String CACHE_NAME = "gateway.responses";
+
+    private static final Set<String> CACHED_RESOURCES = Set.of("items", "users");
+    private static final String BOOKINGS = "bookings";
+    private static final String ITEMS = "items";
+    private static final String USERS = "users";
+
+    private final ResponseCacheProperties properties;
+    private final Cache<RequestKey, BufferedResponse> cache;
+    private final AtomicLong writes = new AtomicLong();
+
+    public ResponseCacheInterceptor(ResponseCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxSizeBytes())
+                .<RequestKey, BufferedResponse>weigher((key, response) -> key.weight() + response.weight())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        String[] segments = RequestKey.segments(request.getURI().getPath());
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            writes.incrementAndGet();
+            invalidate(segments);
+            return response;
+        }
+        if (segments.length == 0 || !CACHED_RESOURCES.contains(segments[0])) {
+            return execution.execute(request, body);
+        }
+
+        RequestKey key = RequestKey.of(request);
+        BufferedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.replay();
+        }
+
+        long writesBefore = writes.get();
+        ClientHttpResponse response = execution.execute(request, body);
+        if (!HttpStatus.OK.equals(response.getStatusCode())) {
+            return response;
+        }
+        byte[] prefix = response.getBody().readNBytes(properties.getMaxEntryBytes() + 1);
+        if (prefix.length > properties.getMaxEntryBytes()) {
+            return new PrefixedResponse(response, prefix);
+        }
+        BufferedResponse buffered = new BufferedResponse(response.getStatusCode(),
+                HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), prefix);
+        response.close();
+        if (writes.get() == writesBefore) {
+            cache.put(key, buffered);
+        }
+        return buffered.replay();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private void invalidate(String[] segments) {
+        if (segments.length == 0) {
+            return;
+        }
+        if (BOOKINGS.equals(segments[0]) || USERS.equals(segments[0])) {
+            cache.asMap().keySet().removeIf(key -> key.isUnder(ITEMS));
+        }
+        if (BOOKINGS.equals(segments[0])) {
+            return;
+        }
+        String resource = segments[0];
+        String id = segments.length > 1 && isId(segments[1]) ? segments[1] : null;
+        cache.asMap().keySet().removeIf(key -> {
+            if (!key.isUnder(resource)) {
+                return false;
+            }
+            String[] keySegments = RequestKey.segments(key.path());
+            return keySegments.length == 1 || !isId(keySegments[1]) || keySegments[1].equals(id);
+        });
+    }
+
+    private static boolean isId(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+    }
+}
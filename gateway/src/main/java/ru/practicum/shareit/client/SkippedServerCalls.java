@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts requests the gateway answered itself because the server's answer was already known:
+ * an empty result or a validation error.
+ */
+@Component
+public class SkippedServerCalls {
+    private static final String METRIC = "gateway.server.calls.skipped";
+
+    private final Counter emptyResults;
+    private final Counter invalidRequests;
+
+    public SkippedServerCalls(MeterRegistry registry) {
+        this.emptyResults = counter(registry, "empty-result");
+        this.invalidRequests = counter(registry, "invalid-request");
+    }
+
+    public void emptyResult() {
+        emptyResults.increment();
+    }
+
+    public void invalidRequest() {
+        invalidRequests.increment();
+    }
+
+    /**
+     * Counts an invalid request rejected by the gateway's own checks and returns the exception to throw.
+     */
+    public IllegalArgumentException invalidRequest(String message) {
+        invalidRequest();
+        return new IllegalArgumentException(message);
+    }
+
+    private static Counter counter(MeterRegistry registry, String reason) {
+        return Counter.builder(METRIC)
+                .description("Requests answered by the gateway without calling the server")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
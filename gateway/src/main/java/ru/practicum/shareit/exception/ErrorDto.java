@@ -0,0 +1,10 @@
+package ru.practicum.shareit.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ErrorDto {
+    private final String error;
+}
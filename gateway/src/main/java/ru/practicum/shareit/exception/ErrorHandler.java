@@ -0,0 +1,36 @@
+package ru.practicum.shareit.exception;
+
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.client.SkippedServerCalls;
+
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ErrorHandler {
+    private final SkippedServerCalls skippedServerCalls;
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleValidationException(MethodArgumentNotValidException e) {
+        skippedServerCalls.invalidRequest();
+        return new ErrorDto("Ошибка валидации");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleConstraintViolationException(ConstraintViolationException e) {
+        skippedServerCalls.invalidRequest();
+        return new ErrorDto("Ошибка валидации");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleIllegalArgumentException(IllegalArgumentException e) {
+        return new ErrorDto(e.getMessage());
+    }
+}
@@ -3,26 +3,34 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    static final int MAX_REPORTED_ERRORS = 100;
 
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
     }
@@ -31,6 +39,35 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    /**
+     * Forwards an NDJSON upload to the server in chunks of whole lines, so neither the gateway nor
+     * the server holds more than one chunk, and sums up the per-chunk results. If the server
+     * rejects a chunk, its response is returned as is; earlier chunks stay imported.
+     */
+    public ResponseEntity<Object> importItems(long userId, InputStream ndjson) throws IOException {
+        NdjsonChunks chunks = new NdjsonChunks(ndjson);
+        ItemImportResultDto total = new ItemImportResultDto();
+        for (NdjsonChunks.Chunk chunk = chunks.next(); chunk != null; chunk = chunks.next()) {
+            ResponseEntity<Object> response = post("/bulk?firstLine={firstLine}", userId,
+                    Map.of("firstLine", chunk.firstLine()), chunk.body(), MediaType.APPLICATION_NDJSON,
+                    ItemImportResultDto.class);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return response;
+            }
+            ItemImportResultDto result = (ItemImportResultDto) response.getBody();
+            List<ItemImportErrorDto> errors = new ArrayList<>(result.getErrors());
+            chunk.tooLongLines().forEach(line -> errors.add(new ItemImportErrorDto(line, "Строка слишком длинная")));
+            errors.sort(Comparator.comparingLong(ItemImportErrorDto::getLine));
+
+            total.setImported(total.getImported() + result.getImported());
+            total.setFailed(total.getFailed() + result.getFailed() + chunk.tooLongLines().size());
+            errors.stream()
+                    .limit(MAX_REPORTED_ERRORS - total.getErrors().size())
+                    .forEach(total.getErrors()::add);
+        }
+        return ResponseEntity.ok(total);
+    }
+
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -40,12 +77,28 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemsByOwner(long userId) {
-        return get("", userId);
+        return stream("", userId, null);
+    }
+
+    public ResponseEntity<Object> getItemsByIds(long userId, List<Long> ids) {
+        return stream("?ids={ids}", userId, Map.of("ids", joinIds(ids)));
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return stream("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
@@ -1,22 +1,37 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.SkippedServerCalls;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class ItemController {
+    static final int MAX_IDS = 100;
+
     private final ItemClient itemClient;
+    private final SkippedServerCalls skippedServerCalls;
 
     @PostMapping
     public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -25,6 +40,13 @@ public class ItemController {
         return itemClient.addItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              InputStream body) throws IOException {
+        log.info("Importing items for user {}", userId);
+        return itemClient.importItems(userId, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long itemId,
@@ -46,10 +68,34 @@ public class ItemController {
         return itemClient.getItemsByOwner(userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getItemsByIds(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestParam @NotEmpty @Size(max = MAX_IDS) List<@Positive Long> ids) {
+        log.info("Getting items {} for user {}", ids, userId);
+        return itemClient.getItemsByIds(userId, ids);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String text) {
+    public ResponseEntity<Object> searchItems(@RequestParam("text") String text,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Searching items with text: {}", text);
-        return itemClient.searchItems(text);
+        if (text.isBlank()) {
+            skippedServerCalls.emptyResult();
+            return ResponseEntity.ok(List.of());
+        }
+        return itemClient.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(@PathVariable Long itemId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Getting availability of item {} from {} to {}", itemId, from, to);
+        if (!from.isBefore(to)) {
+            throw skippedServerCalls.invalidRequest("Начало интервала должно быть раньше конца");
+        }
+        return itemClient.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
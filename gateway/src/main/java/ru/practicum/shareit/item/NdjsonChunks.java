@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuts an NDJSON stream into chunks of whole lines that are small enough to forward to the
+ * server in one request. Lines longer than {@link #MAX_LINE_BYTES} are not forwarded: an empty
+ * line takes their place so that line numbers stay aligned, and their numbers are returned with
+ * the chunk.
+ */
+class NdjsonChunks {
+    static final int MAX_CHUNK_LINES = 1000;
+    static final int MAX_CHUNK_BYTES = 1024 * 1024;
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final InputStream input;
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+    private Line pending;
+    private long nextLine = 1;
+
+    NdjsonChunks(InputStream input) {
+        this.input = new BufferedInputStream(input);
+    }
+
+    Chunk next() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<Long> tooLongLines = new ArrayList<>();
+        long firstLine = nextLine;
+        int lines = 0;
+        while (lines < MAX_CHUNK_LINES) {
+            Line line = pending != null ? pending : readLine();
+            pending = null;
+            if (line == null) {
+                break;
+            }
+            if (lines > 0 && body.size() + line.bytes().length + 1 > MAX_CHUNK_BYTES) {
+                pending = line;
+                break;
+            }
+            if (line.tooLong()) {
+                tooLongLines.add(firstLine + lines);
+            } else {
+                body.write(line.bytes());
+            }
+            body.write('\n');
+            lines++;
+        }
+        nextLine = firstLine + lines;
+        return lines == 0 ? null : new Chunk(firstLine, body.toByteArray(), tooLongLines);
+    }
+
+    private Line readLine() throws IOException {
+        int b = input.read();
+        if (b == -1) {
+            return null;
+        }
+        lineBuffer.reset();
+        boolean tooLong = false;
+        while (b != -1 && b != '\n') {
+            if (lineBuffer.size() < MAX_LINE_BYTES) {
+                lineBuffer.write(b);
+            } else {
+                tooLong = true;
+            }
+            b = input.read();
+        }
+        return tooLong ? new Line(new byte[0], true) : new Line(lineBuffer.toByteArray(), false);
+    }
+
+    record Chunk(long firstLine, byte[] body, List<Long> tooLongLines) {
+    }
+
+    private record Line(byte[] bytes, boolean tooLong) {
+    }
+}
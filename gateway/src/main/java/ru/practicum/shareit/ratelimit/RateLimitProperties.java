@@ -0,0 +1,16 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private double requestsPerSecond = 20;
+    private int burst = 50;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private long maxTrackedClients = 100_000;
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -9,12 +12,16 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class UserController {
+    static final int MAX_IDS = 100;
+
     private final UserClient userClient;
 
     @PostMapping
@@ -42,6 +49,12 @@ public class UserController {
         return userClient.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getUsersByIds(@RequestParam @NotEmpty @Size(max = MAX_IDS) List<@Positive Long> ids) {
+        log.info("Getting users {}", ids);
+        return userClient.getUsersByIds(ids);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
         log.info("Deleting user with id={}", id);
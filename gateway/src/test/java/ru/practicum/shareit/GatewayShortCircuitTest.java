@@ -0,0 +1,136 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GatewayShortCircuitTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    void searchItems_whenTextBlank_thenEmptyListWithoutServerCall() throws Exception {
+        double before = skipped("empty-result");
+
+        mvc.perform(get("/items/search").param("text", "  "))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        verifyNoInteractions(itemClient);
+        assertThat(skipped("empty-result")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void getItemAvailability_whenIntervalInverted_thenBadRequestWithoutServerCall() throws Exception {
+        double before = skipped("invalid-request");
+
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-02T00:00:00")
+                        .param("to", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Начало интервала должно быть раньше конца"));
+
+        verifyNoInteractions(itemClient);
+        assertThat(skipped("invalid-request")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void bookItem_whenEndBeforeStart_thenBadRequestWithoutServerCall() throws Exception {
+        mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":1,\"start\":\"2030-01-02T00:00:00\",\"end\":\"2030-01-01T00:00:00\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Ошибка валидации"));
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void getBookings_whenStateUnknown_thenBadRequestWithoutServerCall() throws Exception {
+        double before = skipped("invalid-request");
+
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", 1).param("state", "SOMETIMES"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown state: SOMETIMES"));
+
+        verifyNoInteractions(bookingClient);
+        assertThat(skipped("invalid-request")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void exportBookingsByOwner_whenFormatUnknown_thenBadRequestWithoutServerCall() throws Exception {
+        double before = skipped("invalid-request");
+
+        mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 1).param("format", "XLSX"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown format: XLSX"));
+
+        verifyNoInteractions(bookingClient);
+        assertThat(skipped("invalid-request")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void searchItems_whenClientRejectsAfterServerCall_thenNotCountedAsSkipped() throws Exception {
+        when(itemClient.searchItems("drill", 0, 10)).thenThrow(new IllegalArgumentException("Некорректный ответ"));
+        double before = skipped("invalid-request");
+
+        mvc.perform(get("/items/search").param("text", "drill"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(skipped("invalid-request")).isEqualTo(before);
+    }
+
+    @Test
+    void searchItems_whenSizeNotPositive_thenBadRequestWithoutServerCall() throws Exception {
+        mvc.perform(get("/items/search").param("text", "drill").param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void getItemsByIds_whenTooManyIds_thenBadRequestWithoutServerCall() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mvc.perform(get("/items").header("X-Sharer-User-Id", 1).param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    private double skipped(String reason) {
+        return meterRegistry.get("gateway.server.calls.skipped").tag("reason", reason).counter().count();
+    }
+}
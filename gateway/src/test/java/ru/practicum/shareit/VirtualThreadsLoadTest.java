@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=2"
+})
+class VirtualThreadsLoadTest {
+    private static final int CONCURRENT_REQUESTS = 40;
+    private static final Duration SERVER_LATENCY = Duration.ofMillis(300);
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void getItem_whenServerSlow_thenInFlightRequestsNotBoundByPlatformThreads() {
+        when(itemClient.getItemById(anyLong(), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(SERVER_LATENCY);
+            return ResponseEntity.ok("{}");
+        });
+
+        HttpClient client = HttpClient.newHttpClient();
+        long started = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + i))
+                    .header("X-Sharer-User-Id", "1")
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        responses.forEach(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Duration platformThreadsBound = SERVER_LATENCY.multipliedBy(CONCURRENT_REQUESTS / 2);
+        assertThat(elapsed).isLessThan(platformThreadsBound.dividedBy(2));
+    }
+}
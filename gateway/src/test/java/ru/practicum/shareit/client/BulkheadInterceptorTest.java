@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadInterceptorTest {
+
+    @Test
+    void intercept_whenFamilySlotsTaken_thenRejectOnlyThatFamily() throws Exception {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getBulkhead().getGroups().put("bookings", 1);
+        properties.getBulkhead().setMaxWait(Duration.ofMillis(10));
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(properties, new ObjectMapper());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slowBooking = new Thread(() -> {
+            try {
+                interceptor.intercept(request("/bookings/owner"), new byte[0], (request, body) -> {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ok();
+                });
+            } catch (IOException ignored) {
+                // the slow call only occupies the slot
+            }
+        });
+        slowBooking.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ClientHttpResponse booking = interceptor.intercept(request("/bookings"), new byte[0], (r, b) -> ok());
+        ClientHttpResponse item = interceptor.intercept(request("/items/1"), new byte[0], (r, b) -> ok());
+        release.countDown();
+        slowBooking.join();
+
+        assertThat(booking.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(item.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(interceptor.intercept(request("/bookings"), new byte[0], (r, b) -> ok()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private static MockClientHttpRequest request(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(path));
+    }
+
+    private static ClientHttpResponse ok() {
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    }
+}
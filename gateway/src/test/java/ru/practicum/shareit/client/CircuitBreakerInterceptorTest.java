@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerInterceptorTest {
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private ResilienceProperties properties;
+    private CircuitBreakerInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(100));
+        interceptor = new CircuitBreakerInterceptor(properties, new ObjectMapper());
+    }
+
+    @Test
+    void intercept_whenFamilyKeepsFailing_thenFastFailOnlyThatFamily() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            call("/bookings/owner", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        ClientHttpResponse rejected = call("/bookings/owner", HttpStatus.OK);
+        ClientHttpResponse items = call("/items/1", HttpStatus.OK);
+
+        assertThat(interceptor.state("bookings")).isEqualTo(CircuitBreakerInterceptor.State.OPEN);
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(items.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(serverCalls).hasValue(5);
+    }
+
+    @Test
+    void intercept_whenOpenDurationPassesAndTrialSucceeds_thenClosed() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            call("/users", HttpStatus.BAD_GATEWAY);
+        }
+        assertThat(interceptor.state("users")).isEqualTo(CircuitBreakerInterceptor.State.OPEN);
+
+        Thread.sleep(150);
+        ClientHttpResponse trial = call("/users", HttpStatus.OK);
+
+        assertThat(trial.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(interceptor.state("users")).isEqualTo(CircuitBreakerInterceptor.State.CLOSED);
+    }
+
+    @Test
+    void intercept_whenFailuresBelowThreshold_thenStaysClosed() throws IOException {
+        call("/items/1", HttpStatus.INTERNAL_SERVER_ERROR);
+        for (int i = 0; i < 3; i++) {
+            call("/items/1", HttpStatus.OK);
+        }
+        call("/items/1", HttpStatus.NOT_FOUND);
+
+        assertThat(interceptor.state("items")).isEqualTo(CircuitBreakerInterceptor.State.CLOSED);
+    }
+
+    @Test
+    void intercept_whenResponseGeneratedByGateway_thenNotCountedAsFailure() throws IOException {
+        ClientHttpRequestExecution localRejection = (request, body) ->
+                BufferedResponse.unavailable(new byte[0], 1).replay();
+        for (int i = 0; i < 10; i++) {
+            interceptor.intercept(request("/requests/all"), new byte[0], localRejection);
+        }
+
+        assertThat(interceptor.state("requests")).isEqualTo(CircuitBreakerInterceptor.State.CLOSED);
+    }
+
+    private ClientHttpResponse call(String path, HttpStatus status) throws IOException {
+        return interceptor.intercept(request(path), new byte[0], (request, body) -> {
+            serverCalls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], status);
+        });
+    }
+
+    private static MockClientHttpRequest request(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(path));
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void intercept_whenLimitReached_thenServiceUnavailableWithoutCallingServer() throws Exception {
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties, new ObjectMapper());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                interceptor.intercept(request(), new byte[0], (request, body) -> {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ok();
+                });
+            } catch (IOException ignored) {
+                // the holder only occupies the permit
+            }
+        });
+        holder.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], (request, body) -> {
+            throw new AssertionError("Запрос не должен уйти на сервер");
+        });
+        release.countDown();
+        holder.join();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(new String(response.getBody().readAllBytes())).contains("\"error\"");
+    }
+
+    @Test
+    void intercept_whenServerFailsOrSucceeds_thenLimitDecreasesAndRecovers() throws Exception {
+        properties.setInitialLimit(20);
+        properties.setBackoffRatio(0.5);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties, new ObjectMapper());
+
+        interceptor.intercept(request(), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+        assertThat(interceptor.limit()).isEqualTo(10);
+        assertThatThrownBy(() -> interceptor.intercept(request(), new byte[0], (request, body) -> {
+            throw new IOException("Read timed out");
+        })).isInstanceOf(IOException.class);
+        assertThat(interceptor.limit()).isEqualTo(5);
+
+        for (int i = 0; i < 30; i++) {
+            interceptor.intercept(request(), new byte[0], (request, body) -> ok());
+        }
+        assertThat(interceptor.limit()).isGreaterThan(5);
+    }
+
+    private static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("/bookings"));
+    }
+
+    private static ClientHttpResponse ok() {
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    }
+}
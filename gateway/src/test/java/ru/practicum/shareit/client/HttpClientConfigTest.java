@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit-server.http-client.max-connections=64",
+        "shareit-server.http-client.max-connections-per-route=32"
+})
+class HttpClientConfigTest {
+
+    @Autowired
+    private List<BaseClient> clients;
+
+    @Autowired
+    private ClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clients_whenCreated_thenShareSingleRequestFactory() {
+        assertThat(clients).hasAtLeastOneElementOfType(BookingClient.class)
+                .hasAtLeastOneElementOfType(ItemClient.class)
+                .hasAtLeastOneElementOfType(ItemRequestClient.class)
+                .hasAtLeastOneElementOfType(UserClient.class)
+                .allSatisfy(client -> {
+                    assertThat(ReflectionTestUtils.getField(client.rest, "requestFactory")).isSameAs(requestFactory);
+                    assertThat(client.rest.getInterceptors()).hasAtLeastOneElementOfType(ResponseCacheInterceptor.class);
+                });
+    }
+
+    @Test
+    void connectionPool_whenConfigured_thenLimitsExposedAsMetrics() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value()).isEqualTo(64);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "shareit-server").gauge().value()).isEqualTo(32);
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingInterceptorTest {
+
+    private final RequestCoalescingInterceptor interceptor =
+            new RequestCoalescingInterceptor(new RequestCoalescingProperties());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void intercept_whenIdenticalGetsConcurrent_thenOneUpstreamCallSharedByAll() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> ok("{\"id\":1}"));
+        List<String> bodies = new ArrayList<>();
+
+        Thread leader = start(() -> bodies.add(read(interceptor.intercept(get("/items/1"), new byte[0], execution))));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(start(() -> {
+                String body = read(interceptor.intercept(get("/items/1"), new byte[0], execution));
+                synchronized (bodies) {
+                    bodies.add(body);
+                }
+            }));
+        }
+        awaitWaiting(followers);
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(bodies).hasSize(11).containsOnly("{\"id\":1}");
+    }
+
+    @Test
+    void intercept_whenNoConcurrentRequest_thenResponseReturnedUnbuffered() throws IOException {
+        ClientHttpResponse upstream = ok("[{\"id\":1}]");
+
+        ClientHttpResponse response = interceptor.intercept(get("/bookings"), new byte[0], (request, body) -> upstream);
+
+        assertThat(response).isSameAs(upstream);
+        assertThat(read(response)).isEqualTo("[{\"id\":1}]");
+    }
+
+    @Test
+    void intercept_whenWriteHappensDuringRead_thenLaterReadGoesUpstream() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> ok("{\"id\":1}"));
+        Thread leader = start(() -> interceptor.intercept(get("/items/1"), new byte[0], execution).close());
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.PATCH, URI.create("/items/1")), new byte[0],
+                (request, body) -> ok("{\"id\":1}"));
+        ClientHttpRequestExecution fresh = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            return ok("{\"id\":1,\"name\":\"new\"}");
+        };
+        String body = read(interceptor.intercept(get("/items/1"), new byte[0], fresh));
+        release.countDown();
+        leader.join();
+
+        assertThat(body).isEqualTo("{\"id\":1,\"name\":\"new\"}");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void intercept_whenSharedCallFails_thenWaitingRequestsFailToo() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> {
+            throw new IOException("connection reset");
+        });
+        List<Throwable> failures = new ArrayList<>();
+        Thread leader = start(() -> interceptor.intercept(get("/items/1"), new byte[0], execution));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread follower = new Thread(() -> {
+            try {
+                interceptor.intercept(get("/items/1"), new byte[0], execution);
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(List.of(follower));
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(failures).singleElement().extracting(Throwable::getMessage).isEqualTo("connection reset");
+    }
+
+    private ClientHttpRequestExecution blockingExecution(Upstream upstream) {
+        return (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return upstream.call();
+        };
+    }
+
+    private static MockClientHttpRequest get(String path) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(path));
+        request.getHeaders().set("X-Sharer-User-Id", "7");
+        return request;
+    }
+
+    private static ClientHttpResponse ok(String body) {
+        return new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+
+    private static String read(ClientHttpResponse response) throws IOException {
+        try (response) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Thread start(Call call) {
+        Thread thread = new Thread(() -> {
+            try {
+                call.run();
+            } catch (IOException ignored) {
+                // asserted through the upstream call count
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Upstream {
+        ClientHttpResponse call() throws IOException;
+    }
+
+    private interface Call {
+        void run() throws IOException;
+    }
+}
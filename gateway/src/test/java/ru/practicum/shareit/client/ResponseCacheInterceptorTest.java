@@ -0,0 +1,190 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheInterceptorTest {
+
+    private ResponseCacheProperties properties;
+    private ResponseCacheInterceptor interceptor;
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setMaxEntryBytes(64);
+        interceptor = new ResponseCacheInterceptor(properties);
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server"));
+        rest.setInterceptors(List.of(interceptor));
+        server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void get_whenRepeatedBySameUser_thenServedFromCache() {
+        server.expect(ExpectedCount.once(), requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        assertThat(get("/items/1", 7L)).isEqualTo("{\"id\":1}");
+        assertThat(get("/items/1", 7L)).isEqualTo("{\"id\":1}");
+
+        server.verify();
+    }
+
+    @Test
+    void get_whenDifferentUser_thenNotSharedBetweenUsers() {
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7L);
+        get("/items/1", 8L);
+
+        server.verify();
+    }
+
+    @Test
+    void patch_whenItemUpdated_thenItemAndListsInvalidatedButOtherItemsKept() {
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://server/items/2"))
+                .andRespond(withSuccess("{\"id\":2}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/search?text=drill"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7L);
+        get("/items/2", 7L);
+        get("/items/search?text=drill", 7L);
+        rest.exchange("/items/1", HttpMethod.PATCH, new HttpEntity<>("{}", headers(7L)), String.class);
+        get("/items/1", 7L);
+        get("/items/2", 7L);
+        get("/items/search?text=drill", 7L);
+
+        server.verify();
+    }
+
+    @Test
+    void post_whenBookingCreated_thenItemReadsInvalidated() {
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://server/bookings"))
+                .andRespond(withSuccess("{\"id\":5}", MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7L);
+        rest.exchange("/bookings", HttpMethod.POST, new HttpEntity<>("{}", headers(8L)), String.class);
+        get("/items/1", 7L);
+
+        server.verify();
+    }
+
+    @Test
+    void patch_whenUserUpdated_thenItemReadsAndUserInvalidated() {
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.twice(), requestTo("http://server/users/8"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":8}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://server/users/9"))
+                .andRespond(withSuccess("{\"id\":9}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://server/users/8"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":8}", MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7L);
+        get("/users/8", null);
+        get("/users/9", null);
+        rest.exchange("/users/8", HttpMethod.PATCH, new HttpEntity<>("{}", headers(null)), String.class);
+        get("/items/1", 7L);
+        get("/users/8", null);
+        get("/users/9", null);
+
+        server.verify();
+    }
+
+    @Test
+    void get_whenStatusNotOk_thenNotCached() {
+        server.expect(ExpectedCount.twice(), requestTo("http://server/users/1"))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        get("/users/1", null);
+        get("/users/1", null);
+
+        server.verify();
+    }
+
+    @Test
+    void get_whenBodyExceedsEntryLimit_thenRelayedWholeAndNotCached() {
+        String body = "[" + "\"x\",".repeat(40) + "\"x\"]";
+        server.expect(ExpectedCount.twice(), requestTo("http://server/users"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        assertThat(get("/users", null)).isEqualTo(body);
+        assertThat(get("/users", null)).isEqualTo(body);
+
+        server.verify();
+    }
+
+    @Test
+    void bindTo_whenRequestsServed_thenHitsAndMissesRecorded() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        interceptor.bindTo(registry);
+        server.expect(ExpectedCount.once(), requestTo("http://server/users/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get("/users/1", null);
+        get("/users/1", null);
+        get("/users/1", null);
+
+        assertThat(registry.get("cache.gets").tag("cache", ResponseCacheInterceptor.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("cache", ResponseCacheInterceptor.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_whenDisabled_thenAlwaysForwarded() {
+        properties.setEnabled(false);
+        server.expect(ExpectedCount.twice(), requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7L);
+        get("/items/1", 7L);
+
+        server.verify();
+    }
+
+    private String get(String path, Long userId) {
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(userId)), String.class).getBody();
+    }
+
+    private HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ItemClientTest {
+
+    private static final String ROW = "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}";
+
+    private MockRestServiceServer server;
+    private ItemClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new ItemClient("http://server", new RestTemplateBuilder());
+        server = MockRestServiceServer.bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest")).build();
+    }
+
+    @Test
+    void importItems_whenUploadExceedsChunk_thenForwardsChunksAndSumsResults() throws IOException {
+        StringBuilder upload = new StringBuilder();
+        for (int i = 1; i <= NdjsonChunks.MAX_CHUNK_LINES + 5; i++) {
+            upload.append(i == 3 ? "x".repeat(NdjsonChunks.MAX_LINE_BYTES + 1) : ROW).append('\n');
+        }
+        server.expect(requestTo("http://server/items/bulk?firstLine=1"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andRespond(withSuccess("{\"imported\":998,\"failed\":1,\"errors\":[{\"line\":5,\"error\":\"Некорректный JSON\"}]}",
+                        MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://server/items/bulk?firstLine=" + (NdjsonChunks.MAX_CHUNK_LINES + 1)))
+                .andRespond(withSuccess("{\"imported\":5,\"failed\":0,\"errors\":[]}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.importItems(7L,
+                new ByteArrayInputStream(upload.toString().getBytes(StandardCharsets.UTF_8)));
+
+        server.verify();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ItemImportResultDto result = (ItemImportResultDto) response.getBody();
+        assertThat(result.getImported()).isEqualTo(1003);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(
+                new ItemImportErrorDto(3, "Строка слишком длинная"),
+                new ItemImportErrorDto(5, "Некорректный JSON"));
+    }
+
+    @Test
+    void importItems_whenServerRejectsChunk_thenReturnsServerError() throws IOException {
+        server.expect(requestTo("http://server/items/bulk?firstLine=1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Пользователь не найден\"}"));
+
+        ResponseEntity<Object> response = client.importItems(7L,
+                new ByteArrayInputStream(ROW.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).contains("Пользователь не найден");
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "gateway.rate-limit.requests-per-second=0.1",
+        "gateway.rate-limit.burst=2"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void request_whenUserExceedsBurst_thenTooManyRequestsWithRetryAfter() throws Exception {
+        when(itemClient.getItemById(anyLong(), anyLong())).thenReturn(ResponseEntity.ok("{}"));
+
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.error").value("Слишком много запросов"));
+
+        mvc.perform(get("/items/1").header("X-Sharer-User-Id", 2)).andExpect(status().isOk());
+    }
+}
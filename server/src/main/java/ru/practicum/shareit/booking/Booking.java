@@ -13,10 +13,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_creator_start", columnList = "creator_id, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_creator_status_start", columnList = "creator_id, status, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_item_status_start", columnList = "item_id, status, start_date")
+})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -25,6 +29,13 @@ public class BookingController {
         return bookingService.approveBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingApprovalResultDto> approveBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @RequestParam Boolean approved,
+                                                          @RequestBody List<Long> bookingIds) {
+        return bookingService.approveBookings(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                       @PathVariable Long bookingId) {
@@ -32,14 +43,28 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByCreator(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getBookingsByCreator(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsByCreator(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                 @RequestParam(defaultValue = "0") Integer from,
+                                                                 @RequestParam(defaultValue = "10") Integer size,
+                                                                 @RequestParam(required = false) String cursor) {
+        return CursorPage.toResponseEntity(bookingService.getBookingsByCreator(userId, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                    @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getBookingsByItemOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "10") Integer size,
+                                                                   @RequestParam(required = false) String cursor) {
+        return CursorPage.toResponseEntity(bookingService.getBookingsByItemOwner(userId, state, from, size, cursor));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                           @RequestParam(defaultValue = "NDJSON") BookingExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(bookingService.exportBookingsByItemOwner(userId, format));
     }
 }
\ No newline at end of file
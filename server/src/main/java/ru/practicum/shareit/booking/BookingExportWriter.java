@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes bookings one per line, either as JSON objects or as CSV rows under a header line.
+ */
+class BookingExportWriter {
+    private static final String CSV_HEADER = "id,start,end,itemId,itemName,bookerId,bookerName,status";
+
+    private final BookingExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    BookingExportWriter(BookingExportFormat format, ObjectMapper objectMapper, Writer writer) throws IOException {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = writer;
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(BookingDto booking) throws IOException {
+        switch (format) {
+            case NDJSON -> writer.write(objectMapper.writeValueAsString(booking));
+            case CSV -> writer.write(String.join(",",
+                    String.valueOf(booking.getId()),
+                    String.valueOf(booking.getStartDate()),
+                    String.valueOf(booking.getEndDate()),
+                    String.valueOf(booking.getItemId()),
+                    csvField(booking.getItem().getName()),
+                    String.valueOf(booking.getCreator().getId()),
+                    csvField(booking.getCreator().getName()),
+                    booking.getStatus().name()));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
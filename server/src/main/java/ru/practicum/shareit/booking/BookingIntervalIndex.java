@@ -0,0 +1,220 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-item sorted set of the {@code [start, end)} intervals held by WAITING and APPROVED bookings.
+ * <p>
+ * A schedule is loaded from the database on first use with the bookings that have not ended yet, and
+ * then maintained by {@link #reserve} and {@link #release}. Every reservation is rejected if it overlaps,
+ * so as long as the loaded rows did not overlap, only the interval starting right before the new end has
+ * to be checked. Rows created before overlaps were rejected may overlap; a schedule that loads such rows
+ * is marked and then checked and queried by scanning every interval that starts before the bound.
+ * Reservations and releases follow the outcome of the surrounding transaction.
+ * <p>
+ * Schedules live in a bounded cache. While a transaction has an uncommitted change to a schedule the
+ * schedule is pinned outside the cache, so an eviction cannot lose that change. Queries reaching back
+ * before a schedule was loaded are answered from the database.
+ */
+@Component
+public class BookingIntervalIndex {
+    static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemSchedule> schedules;
+    private final ConcurrentMap<Long, ItemSchedule> pinned = new ConcurrentHashMap<>();
+    private final AtomicLong unpins = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-index.max-size:10000}") long maxSize,
+                                @Value("${shareit.booking-index.ttl-seconds:600}") long ttlSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Interval interval = Interval.of(booking);
+        ItemSchedule schedule = pin(itemId);
+        try {
+            synchronized (schedule) {
+                schedule.intervals.remove(interval);
+                if (schedule.collides(interval)) {
+                    throw new ConflictException("Вещь уже забронирована на это время");
+                }
+                schedule.intervals.add(interval);
+            }
+        } catch (ConflictException e) {
+            unpin(itemId);
+            throw e;
+        }
+        afterCompletion(status -> {
+            if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                synchronized (schedule) {
+                    schedule.intervals.remove(interval);
+                }
+            }
+            unpin(itemId);
+        });
+    }
+
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Interval interval = Interval.of(booking);
+        ItemSchedule schedule = pin(itemId);
+        synchronized (schedule) {
+            schedule.intervals.remove(interval);
+        }
+        afterCompletion(status -> {
+            if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                synchronized (schedule) {
+                    schedule.intervals.add(interval);
+                }
+            }
+            unpin(itemId);
+        });
+    }
+
+    public List<Interval> intervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemSchedule schedule = schedule(itemId);
+        if (from.isBefore(schedule.loadedFrom)) {
+            return bookingRepository.findByItemIdAndStatusInAndStartDateBeforeAndEndDateAfterOrderByStartDate(
+                            itemId, BLOCKING_STATUSES, to, from).stream()
+                    .map(Interval::of)
+                    .toList();
+        }
+        synchronized (schedule) {
+            if (schedule.overlapping) {
+                return schedule.intervals.headSet(new Interval(to, to, Long.MIN_VALUE), false).stream()
+                        .filter(interval -> interval.end.isAfter(from))
+                        .toList();
+            }
+            Interval first = schedule.intervals.lower(new Interval(from, from, Long.MIN_VALUE));
+            NavigableSet<Interval> tail = first != null && first.end.isAfter(from)
+                    ? schedule.intervals.tailSet(first, true)
+                    : schedule.intervals.tailSet(new Interval(from, from, Long.MIN_VALUE), true);
+            return tail.headSet(new Interval(to, to, Long.MIN_VALUE), false).stream().toList();
+        }
+    }
+
+    private ItemSchedule schedule(Long itemId) {
+        ItemSchedule schedule = pinned.get(itemId);
+        return schedule != null ? schedule : schedules.get(itemId, this::load);
+    }
+
+    private ItemSchedule load(Long itemId) {
+        ItemSchedule schedule = new ItemSchedule(LocalDateTime.now(), unpins.get());
+        bookingRepository.findByItemIdAndStatusInAndEndDateAfter(itemId, BLOCKING_STATUSES, schedule.loadedFrom)
+                .forEach(booking -> schedule.intervals.add(Interval.of(booking)));
+        LocalDateTime maxEnd = null;
+        for (Interval interval : schedule.intervals) {
+            if (maxEnd != null && maxEnd.isAfter(interval.start)) {
+                schedule.overlapping = true;
+                break;
+            }
+            maxEnd = interval.end;
+        }
+        return schedule;
+    }
+
+    /**
+     * Loads outside {@code pinned.compute}, so no query runs while a map bin is locked. A loaded schedule
+     * is pinned only if it is still the cached one, or if the cache lost it and no schedule has been
+     * unpinned since the load began; otherwise it may miss a committed change and is loaded again.
+     */
+    private ItemSchedule pin(Long itemId) {
+        while (true) {
+            ItemSchedule candidate = schedules.get(itemId, this::load);
+            ItemSchedule result = pinned.compute(itemId, (id, schedule) -> {
+                if (schedule == null) {
+                    ItemSchedule cached = schedules.getIfPresent(id);
+                    boolean current = cached == candidate
+                            || cached == null && candidate.unpinsAtLoad == unpins.get();
+                    if (!current) {
+                        return null;
+                    }
+                    schedule = candidate;
+                }
+                schedule.pins++;
+                return schedule;
+            });
+            if (result != null) {
+                return result;
+            }
+        }
+    }
+
+    private void unpin(Long itemId) {
+        pinned.computeIfPresent(itemId, (id, schedule) -> {
+            if (--schedule.pins > 0) {
+                return schedule;
+            }
+            unpins.incrementAndGet();
+            schedules.put(id, schedule);
+            return null;
+        });
+    }
+
+    private void afterCompletion(IntConsumer callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(TransactionSynchronization.STATUS_COMMITTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status);
+            }
+        });
+    }
+
+    public record Interval(LocalDateTime start, LocalDateTime end, Long bookingId) {
+        static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+                .thenComparing(Interval::bookingId);
+
+        static Interval of(Booking booking) {
+            return new Interval(booking.getStartDate(), booking.getEndDate(), booking.getId());
+        }
+    }
+
+    private static class ItemSchedule {
+        private final LocalDateTime loadedFrom;
+        private final long unpinsAtLoad;
+        private final NavigableSet<Interval> intervals = new TreeSet<>(Interval.ORDER);
+        private boolean overlapping;
+        private int pins;
+
+        ItemSchedule(LocalDateTime loadedFrom, long unpinsAtLoad) {
+            this.loadedFrom = loadedFrom;
+            this.unpinsAtLoad = unpinsAtLoad;
+        }
+
+        boolean collides(Interval interval) {
+            NavigableSet<Interval> before = intervals.headSet(new Interval(interval.end, interval.end, Long.MIN_VALUE), false);
+            if (overlapping) {
+                return before.stream().anyMatch(other -> other.end.isAfter(interval.start));
+            }
+            return !before.isEmpty() && before.last().end.isAfter(interval.start);
+        }
+    }
+}
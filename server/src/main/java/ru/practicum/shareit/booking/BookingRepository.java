@@ -1,34 +1,19 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByCreatorId(Long creatorId, Sort sort);
-
-    List<Booking> findByCreatorIdAndStatus(Long creatorId, BookingStatus status, Sort sort);
-
-    List<Booking> findByCreatorIdAndEndDateIsBefore(Long creatorId, LocalDateTime endDate, Sort sort);
-
-    List<Booking> findByCreatorIdAndStartDateIsAfter(Long creatorId, LocalDateTime startDate, Sort sort);
-
-    List<Booking> findByCreatorIdAndStartDateIsBeforeAndEndDateIsAfter(Long creatorId, LocalDateTime startDate, LocalDateTime endDate, Sort sort);
-
-    List<Booking> findByItemOwnerId(Long ownerId, Sort sort);
-
-    List<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
-
-    List<Booking> findByItemOwnerIdAndEndDateIsBefore(Long ownerId, LocalDateTime endDate, Sort sort);
-
-    List<Booking> findByItemOwnerIdAndStartDateIsAfter(Long ownerId, LocalDateTime startDate, Sort sort);
-
-    List<Booking> findByItemOwnerIdAndStartDateIsBeforeAndEndDateIsAfter(Long ownerId, LocalDateTime startDate, LocalDateTime endDate, Sort sort);
-
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.status = 'APPROVED' AND b.startDate < ?2 ORDER BY b.startDate DESC")
     Optional<Booking> findLastBooking(Long itemId, LocalDateTime now);
 
@@ -42,5 +27,20 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findNextBookingsForItems(List<Long> itemIds, LocalDateTime now);
 
     List<Booking> findByCreatorIdAndItemIdAndStatusAndEndDateIsBefore(Long creatorId, Long itemId, BookingStatus status, LocalDateTime endDate);
+
+    List<Booking> findByItemIdAndStatusInAndEndDateAfter(Long itemId, List<BookingStatus> statuses, LocalDateTime endDate);
+
+    List<Booking> findByItemIdAndStatusInAndStartDateBeforeAndEndDateAfterOrderByStartDate(
+            Long itemId, List<BookingStatus> statuses, LocalDateTime startDate, LocalDateTime endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.creator WHERE i.owner.id = ?1 ORDER BY b.startDate DESC, b.id DESC")
+    Stream<Booking> streamAllByItemOwnerId(Long ownerId);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.creator WHERE b.id IN ?1")
+    List<Booking> findAllWithItemAndCreatorByIdIn(Collection<Long> ids);
 }
 
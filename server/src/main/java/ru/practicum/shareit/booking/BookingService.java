@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -9,9 +12,15 @@ public interface BookingService {
 
     BookingDto approveBooking(Long userId, Long bookingId, Boolean approved);
 
+    List<BookingApprovalResultDto> approveBookings(Long userId, List<Long> bookingIds, Boolean approved);
+
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getBookingsByCreator(Long userId, BookingState state);
+    CursorPage<BookingDto> getBookingsByCreator(Long userId, BookingState state,
+                                                Integer from, Integer size, String cursor);
+
+    CursorPage<BookingDto> getBookingsByItemOwner(Long userId, BookingState state,
+                                                  Integer from, Integer size, String cursor);
 
-    List<BookingDto> getBookingsByItemOwner(Long userId, BookingState state);
+    StreamingResponseBody exportBookingsByItemOwner(Long userId, BookingExportFormat format);
 }
\ No newline at end of file
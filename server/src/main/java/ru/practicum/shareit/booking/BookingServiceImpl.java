@@ -1,28 +1,57 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final String START_DATE = "startDate";
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
@@ -45,6 +74,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.WAITING);
 
         booking = bookingRepository.save(booking);
+        bookingIntervalIndex.reserve(booking);
         return bookingMapper.toDto(booking);
     }
 
@@ -63,9 +93,46 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         booking = bookingRepository.save(booking);
+        if (!approved) {
+            bookingIntervalIndex.release(booking);
+        }
         return bookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> approveBookings(Long userId, List<Long> bookingIds, Boolean approved) {
+        List<Long> ids = bookingIds.stream()
+                .distinct()
+                .toList();
+        Map<Long, Booking> bookingsById = bookingRepository.findAllWithItemAndCreatorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+
+        List<BookingApprovalResultDto> results = new ArrayList<>(ids.size());
+        for (Long bookingId : ids) {
+            Booking booking = bookingsById.get(bookingId);
+            String error = null;
+            if (booking == null) {
+                error = "Бронирование не найдено";
+            } else if (!booking.getItem().getOwner().getId().equals(userId)) {
+                error = "Только владелец вещи может подтвердить бронирование";
+            } else if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+                error = "Бронирование уже обработано";
+            }
+            if (error != null) {
+                results.add(new BookingApprovalResultDto(bookingId, null, error));
+                continue;
+            }
+
+            booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            if (!approved) {
+                bookingIntervalIndex.release(booking);
+            }
+            results.add(new BookingApprovalResultDto(bookingId, bookingMapper.toDto(booking), null));
+        }
+        return results;
+    }
+
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
         Booking booking = getBookingByIdInternal(bookingId);
@@ -79,71 +146,65 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getBookingsByCreator(Long userId, BookingState state) {
-        getUserById(userId);
-
-        Sort sort = Sort.by(Sort.Direction.DESC, "startDate");
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByCreatorId(userId, sort);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByCreatorIdAndStartDateIsBeforeAndEndDateIsAfter(userId, now, now, sort);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByCreatorIdAndEndDateIsBefore(userId, now, sort);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByCreatorIdAndStartDateIsAfter(userId, now, sort);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByCreatorIdAndStatus(userId, BookingStatus.WAITING, sort);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByCreatorIdAndStatus(userId, BookingStatus.REJECTED, sort);
-                break;
-            default:
-                throw new IllegalArgumentException("Неизвестное состояние: " + state);
-        }
+    public CursorPage<BookingDto> getBookingsByCreator(Long userId, BookingState state,
+                                                       Integer from, Integer size, String cursor) {
+        return getBookings(BookingRole.CREATOR, userId, state, from, size, cursor);
+    }
 
-        return bookingMapper.toDto(bookings);
+    @Override
+    public CursorPage<BookingDto> getBookingsByItemOwner(Long userId, BookingState state,
+                                                         Integer from, Integer size, String cursor) {
+        return getBookings(BookingRole.OWNER, userId, state, from, size, cursor);
     }
 
+    /**
+     * Checks the owner up front and returns a body that streams all of their bookings, newest first,
+     * in its own read-only transaction. Rows are read from a forward-only cursor and the persistence
+     * context is cleared every {@link #EXPORT_CLEAR_INTERVAL} rows, so heap use does not depend on
+     * the number of bookings.
+     */
     @Override
-    public List<BookingDto> getBookingsByItemOwner(Long userId, BookingState state) {
-        getUserById(userId);
-
-        Sort sort = Sort.by(Sort.Direction.DESC, "startDate");
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerId(userId, sort);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerIdAndStartDateIsBeforeAndEndDateIsAfter(userId, now, now, sort);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndDateIsBefore(userId, now, sort);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartDateIsAfter(userId, now, sort);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, sort);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, sort);
-                break;
-            default:
-                throw new IllegalArgumentException("Неизвестное состояние: " + state);
-        }
+    public StreamingResponseBody exportBookingsByItemOwner(Long userId, BookingExportFormat format) {
+        userExistenceChecker.requireExists(userId);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            BookingExportWriter exportWriter = new BookingExportWriter(format, objectMapper, writer);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerId(userId)) {
+                        int rows = 0;
+                        for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                            exportWriter.write(bookingMapper.toDto(booking));
+                            if (++rows % EXPORT_CLEAR_INTERVAL == 0) {
+                                entityManager.clear();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private CursorPage<BookingDto> getBookings(BookingRole role, Long userId, BookingState state,
+                                               Integer from, Integer size, String cursor) {
+        userExistenceChecker.requireExists(userId);
+
+        Specification<Booking> specification = BookingSpecifications.of(role, userId, state, LocalDateTime.now());
+        ScrollPosition position = KeysetCursor.position(cursor, from, START_DATE);
+        Window<Booking> bookings = bookingRepository.findBy(specification, query -> query
+                .sortBy(KeysetCursor.sort(START_DATE))
+                .limit(size)
+                .scroll(position));
 
-        return bookingMapper.toDto(bookings);
+        return KeysetCursor.page(bookings, bookingMapper::toDto, Booking::getStartDate, Booking::getId);
     }
 
     private User getUserById(Long userId) {
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the filter for booking listings: one user predicate per {@link BookingRole}
+ * combined with the predicate of the requested {@link BookingState}. Every state binds the same
+ * predicate set ({@code status IN}, a start range and an end range) with its own values and open
+ * sentinel bounds, so each role produces a single SQL statement whatever the state.
+ * Item and creator are fetched in the same statement, reusing the item join for the owner predicate.
+ * <p>
+ * The listing reads entities rather than a DTO projection on purpose: {@code BookingDto} embeds the full
+ * {@code ItemDto} and {@code UserDto}, so the fetch join selects every column a projection would, plus
+ * only {@code items.owner_id}. Reading entities keeps Spring Data's keyset scrolling, which works only on
+ * entity queries.
+ */
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> of(BookingRole role, Long userId, BookingState state, LocalDateTime now) {
+        return hasUser(role, userId).and(inState(state, now));
+    }
+
+    private static Specification<Booking> hasUser(BookingRole role, Long userId) {
+        return (root, query, cb) -> switch (role) {
+            case CREATOR -> {
+                fetchItem(root, query.getResultType());
+                yield cb.equal(root.get("creator").get("id"), userId);
+            }
+            case OWNER -> cb.equal(fetchItem(root, query.getResultType()).get("owner").get("id"), userId);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static From<Booking, Item> fetchItem(Root<Booking> root, Class<?> resultType) {
+        if (!Booking.class.equals(resultType)) {
+            return root.join("item");
+        }
+        root.fetch("creator");
+        return (From<Booking, Item>) root.<Booking, Item>fetch("item");
+    }
+
+    private static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        StateBounds bounds = StateBounds.of(state, now);
+        return (root, query, cb) -> cb.and(
+                root.get("status").in(bounds.statuses()),
+                cb.greaterThan(root.get("startDate"), bounds.startAfter()),
+                cb.lessThan(root.get("startDate"), bounds.startBefore()),
+                cb.greaterThan(root.get("endDate"), bounds.endAfter()),
+                cb.lessThan(root.get("endDate"), bounds.endBefore()));
+    }
+
+    private record StateBounds(List<BookingStatus> statuses,
+                               LocalDateTime startAfter, LocalDateTime startBefore,
+                               LocalDateTime endAfter, LocalDateTime endBefore) {
+        private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+        private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+        private static final List<BookingStatus> ANY_STATUS = List.of(BookingStatus.values());
+
+        static StateBounds of(BookingState state, LocalDateTime now) {
+            return switch (state) {
+                case ALL -> new StateBounds(ANY_STATUS, EARLIEST, LATEST, EARLIEST, LATEST);
+                case CURRENT -> new StateBounds(ANY_STATUS, EARLIEST, now, now, LATEST);
+                case PAST -> new StateBounds(ANY_STATUS, EARLIEST, LATEST, EARLIEST, now);
+                case FUTURE -> new StateBounds(ANY_STATUS, now, LATEST, EARLIEST, LATEST);
+                case WAITING -> new StateBounds(only(BookingStatus.WAITING), EARLIEST, LATEST, EARLIEST, LATEST);
+                case REJECTED -> new StateBounds(only(BookingStatus.REJECTED), EARLIEST, LATEST, EARLIEST, LATEST);
+            };
+        }
+
+        // The IN list always has one slot per status, so its length never changes the statement.
+        private static List<BookingStatus> only(BookingStatus status) {
+            return Collections.nCopies(ANY_STATUS.size(), status);
+        }
+    }
+}
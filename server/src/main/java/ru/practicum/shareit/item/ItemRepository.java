@@ -1,19 +1,38 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerId(Long ownerId);
 
+    /**
+     * Database fallback for {@code ItemSearchIndex}, keeping the plain {@code UPPER(x) LIKE '%text%'} substring
+     * match: unlike the index it does not fold {@code ё} and treats {@code %} and {@code _} in the text as
+     * wildcards. Results are ordered like the index (name prefix, name, description, then id).
+     */
     @Query("SELECT i FROM Item i " +
            "WHERE i.available = true " +
-           "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
-           "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
-    List<Item> search(String text);
+           "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) " +
+           "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) " +
+           "ORDER BY (CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT(:text, '%')) THEN 2 ELSE 0 END " +
+           "+ CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) THEN 4 ELSE 0 END " +
+           "+ CASE WHEN UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%')) THEN 1 ELSE 0 END) DESC, " +
+           "i.id")
+    List<Item> search(String text, Pageable pageable);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+           "FROM Item i " +
+           "WHERE i.request.id IN ?1 " +
+           "ORDER BY i.id")
+    List<ItemDto> findDtosByRequestIdIn(Collection<Long> requestIds);
+
+    Slice<Item> findAllBy(Pageable pageable);
 }
 
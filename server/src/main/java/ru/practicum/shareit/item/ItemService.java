@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,5 +16,9 @@ public interface ItemService {
 
     List<ItemWithBookingsDto> getItemsByOwner(Long userId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemWithBookingsDto> getItemsByIds(Long userId, List<Long> itemIds);
+
+    List<ItemDto> searchItems(String text, Integer from, Integer size);
+
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
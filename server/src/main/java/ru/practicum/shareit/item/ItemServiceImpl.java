@@ -4,21 +4,32 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comments.Comment;
 import ru.practicum.shareit.item.comments.CommentMapper;
+import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.dto.AvailabilityRunDto;
+import ru.practicum.shareit.item.dto.AvailabilityRunDto.AvailabilityState;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,17 +40,21 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
     public ItemDto addItem(Long userId, ItemDto itemDto) {
-        User owner = getUserById(userId);
+        userExistenceChecker.requireExists(userId);
 
         Item item = itemMapper.toEntity(itemDto);
-        item.setOwner(owner);
+        item.setOwner(userRepository.getReferenceById(userId));
 
         if (itemDto.getRequestId() != null) {
             ItemRequest request = getItemRequest(itemDto.getRequestId());
@@ -86,74 +101,140 @@ public class ItemServiceImpl implements ItemService {
             nextBooking = bookingRepository.findNextBooking(itemId, now).orElse(null);
         }
 
-        return buildItemWithBookings(item, lastBooking, nextBooking);
+        List<Comment> comments = commentRepository.findAllWithCreatorByItemIdIn(List.of(itemId));
+
+        return buildItemWithBookings(item, lastBooking, nextBooking, comments);
     }
 
     @Override
     public List<ItemWithBookingsDto> getItemsByOwner(Long userId) {
         List<Item> items = itemRepository.findAllByOwnerId(userId);
 
+        return buildItemsWithBookings(items, items.stream().map(Item::getId).toList());
+    }
+
+    @Override
+    public List<ItemWithBookingsDto> getItemsByIds(Long userId, List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        List<Item> items = itemIds.stream()
+                .distinct()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Long> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .toList();
+
+        return buildItemsWithBookings(items, ownedItemIds);
+    }
+
+    @Override
+    public List<ItemDto> searchItems(String text, Integer from, Integer size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        Optional<List<Long>> indexed = itemSearchIndex.search(text, from, size);
+        if (indexed.isEmpty()) {
+            return itemMapper.toDto(itemRepository.search(text, OffsetPageRequest.of(from, size)));
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(indexed.get()).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return indexed.get().stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(itemMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        getItem(itemId);
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало интервала должно быть раньше конца");
+        }
+
+        List<AvailabilityRunDto> runs = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingIntervalIndex.Interval interval : bookingIntervalIndex.intervals(itemId, from, to)) {
+            LocalDateTime start = interval.start().isBefore(from) ? from : interval.start();
+            LocalDateTime end = interval.end().isAfter(to) ? to : interval.end();
+            if (!end.isAfter(cursor)) {
+                // Contained in the busy time already reported (overlapping legacy bookings).
+                continue;
+            }
+            if (start.isAfter(cursor)) {
+                runs.add(new AvailabilityRunDto(AvailabilityState.FREE, cursor, start));
+            }
+            AvailabilityRunDto last = runs.isEmpty() ? null : runs.getLast();
+            if (last != null && last.getState() == AvailabilityState.BUSY) {
+                last.setEnd(end);
+            } else {
+                runs.add(new AvailabilityRunDto(AvailabilityState.BUSY, start, end));
+            }
+            cursor = end;
+        }
+        if (cursor.isBefore(to)) {
+            runs.add(new AvailabilityRunDto(AvailabilityState.FREE, cursor, to));
+        }
+
+        return new ItemAvailabilityDto(itemId, from, to, runs);
+    }
+
+    private List<ItemWithBookingsDto> buildItemsWithBookings(List<Item> items, List<Long> ownedItemIds) {
         if (items.isEmpty()) {
             return List.of();
         }
 
         LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookingByItemId = ownedItemIds.isEmpty()
+                ? Map.of()
+                : byItemId(bookingRepository.findLastBookingsForItems(ownedItemIds, now));
+        Map<Long, Booking> nextBookingByItemId = ownedItemIds.isEmpty()
+                ? Map.of()
+                : byItemId(bookingRepository.findNextBookingsForItems(ownedItemIds, now));
 
         List<Long> itemIds = items.stream()
                 .map(Item::getId)
                 .toList();
+        Map<Long, List<Comment>> commentsByItemId = commentRepository.findAllWithCreatorByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
-        List<Booking> lastBookings = bookingRepository.findLastBookingsForItems(itemIds, now);
-        Map<Long, Booking> lastBookingByItemId = lastBookings.stream()
-                .collect(Collectors.toMap(
-                        booking -> booking.getItem().getId(),
-                        booking -> booking,
-                        (existing, replacement) -> existing
-                ));
+        return items.stream()
+                .map(item -> buildItemWithBookings(
+                        item,
+                        lastBookingByItemId.get(item.getId()),
+                        nextBookingByItemId.get(item.getId()),
+                        commentsByItemId.getOrDefault(item.getId(), List.of())))
+                .toList();
+    }
 
-        List<Booking> nextBookings = bookingRepository.findNextBookingsForItems(itemIds, now);
-        Map<Long, Booking> nextBookingByItemId = nextBookings.stream()
+    private static Map<Long, Booking> byItemId(List<Booking> bookings) {
+        return bookings.stream()
                 .collect(Collectors.toMap(
                         booking -> booking.getItem().getId(),
                         booking -> booking,
                         (existing, replacement) -> existing
                 ));
-
-        return items.stream()
-                .map(item -> buildItemWithBookings(item, lastBookingByItemId, nextBookingByItemId))
-                .toList();
     }
 
-    @Override
-    public List<ItemDto> searchItems(String text) {
-        if (text == null || text.isBlank()) {
-            return List.of();
-        }
-        return itemMapper.toDto(itemRepository.search(text));
-    }
-
-    private ItemWithBookingsDto buildItemWithBookings(Item item, Booking lastBooking, Booking nextBooking) {
+    private ItemWithBookingsDto buildItemWithBookings(Item item, Booking lastBooking, Booking nextBooking,
+                                                      List<Comment> comments) {
         ItemWithBookingsDto result = itemMapper.toDtoWithBookings(item);
         result.setLastBooking(bookingMapper.toShortDto(lastBooking));
         result.setNextBooking(bookingMapper.toShortDto(nextBooking));
-        result.setComments(commentMapper.toDto(item.getComments()));
+        result.setComments(commentMapper.toDto(comments));
         return result;
     }
 
-    private ItemWithBookingsDto buildItemWithBookings(
-            Item item,
-            Map<Long, Booking> lastBookingByItemId,
-            Map<Long, Booking> nextBookingByItemId) {
-        Booking lastBooking = lastBookingByItemId.get(item.getId());
-        Booking nextBooking = nextBookingByItemId.get(item.getId());
-        return buildItemWithBookings(item, lastBooking, nextBooking);
-    }
-
-    private User getUserById(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-    }
-
     private Item getItem(Long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь не найдена"));
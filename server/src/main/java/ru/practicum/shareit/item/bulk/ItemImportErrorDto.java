@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportErrorDto {
+    private long line;
+    private String error;
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ItemImportService {
+    ItemImportResultDto importItems(Long userId, InputStream ndjson, long firstLine) throws IOException;
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceChecker;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates items from NDJSON, one item per line, reading the body as it arrives. Valid rows are
+ * saved in transactions of {@link #BATCH_SIZE}, so a failure loses at most one batch. The
+ * persistence context is cleared after every batch, so memory does not grow with the size of the
+ * upload. Invalid rows are counted and, up to {@link #MAX_REPORTED_ERRORS}, reported with their
+ * line numbers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportServiceImpl implements ItemImportService {
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final ItemRepository itemRepository;
+    private final UserExistenceChecker userExistenceChecker;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ItemImportResultDto importItems(Long userId, InputStream ndjson, long firstLine) throws IOException {
+        userExistenceChecker.requireExists(userId);
+
+        ItemImportResultDto result = new ItemImportResultDto();
+        NdjsonReader reader = new NdjsonReader(new BufferedInputStream(ndjson), MAX_LINE_BYTES, firstLine);
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+        for (NdjsonReader.Line line = reader.next(); line != null; line = reader.next()) {
+            if (line.tooLong()) {
+                reject(result, line.number(), "Строка длиннее " + MAX_LINE_BYTES + " байт");
+                continue;
+            }
+            if (line.text().isBlank()) {
+                continue;
+            }
+            ItemDto itemDto;
+            try {
+                itemDto = objectMapper.readValue(line.text(), ItemDto.class);
+            } catch (JsonProcessingException e) {
+                reject(result, line.number(), "Некорректный JSON");
+                continue;
+            }
+            String error = validate(itemDto);
+            if (error != null) {
+                reject(result, line.number(), error);
+                continue;
+            }
+            batch.add(new Row(line.number(), itemDto));
+            if (batch.size() == BATCH_SIZE) {
+                saveBatch(userId, batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(userId, batch, result);
+        }
+        return result;
+    }
+
+    private void saveBatch(Long userId, List<Row> rows, ItemImportResultDto result) {
+        List<Row> unknownRequests = new ArrayList<>();
+        try {
+            int saved = transactionTemplate.execute(status -> {
+                User owner = entityManager.getReference(User.class, userId);
+                Set<Long> requestIds = rows.stream()
+                        .map(row -> row.item().getRequestId())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Map<Long, ItemRequest> requestsById = requestIds.isEmpty()
+                        ? Map.of()
+                        : itemRequestRepository.findAllById(requestIds).stream()
+                                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+                List<Item> items = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    Long requestId = row.item().getRequestId();
+                    if (requestId != null && !requestsById.containsKey(requestId)) {
+                        unknownRequests.add(row);
+                        continue;
+                    }
+                    Item item = itemMapper.toEntity(row.item());
+                    item.setId(null);
+                    item.setOwner(owner);
+                    item.setRequest(requestId == null ? null : requestsById.get(requestId));
+                    items.add(item);
+                }
+                itemRepository.saveAll(items);
+                itemRepository.flush();
+                return items.size();
+            });
+            result.setImported(result.getImported() + saved);
+            unknownRequests.forEach(row -> reject(result, row.line(), "Запрос не найден"));
+        } catch (DataAccessException e) {
+            log.warn("Не удалось сохранить пакет вещей со строки {}", rows.getFirst().line(), e);
+            rows.forEach(row -> reject(result, row.line(), "Не удалось сохранить вещь"));
+        } finally {
+            // With open-in-view every batch shares the request's EntityManager; drop the saved items.
+            entityManager.clear();
+        }
+    }
+
+    private static String validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название не может быть пустым";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание не может быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Доступность должна быть указана";
+        }
+        return null;
+    }
+
+    private static void reject(ItemImportResultDto result, long line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ItemImportErrorDto(line, error));
+        }
+    }
+
+    private record Row(long line, ItemDto item) {
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads newline-delimited records one at a time, holding at most {@code maxLineBytes} of a line
+ * in memory; the rest of a longer line is skipped and the line is reported as too long.
+ */
+class NdjsonReader {
+    private final InputStream input;
+    private final int maxLineBytes;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private long lineNumber;
+
+    NdjsonReader(InputStream input, int maxLineBytes, long firstLine) {
+        this.input = input;
+        this.maxLineBytes = maxLineBytes;
+        this.lineNumber = firstLine - 1;
+    }
+
+    Line next() throws IOException {
+        buffer.reset();
+        boolean tooLong = false;
+        int b = input.read();
+        if (b == -1) {
+            return null;
+        }
+        while (b != -1 && b != '\n') {
+            if (buffer.size() < maxLineBytes) {
+                buffer.write(b);
+            } else {
+                tooLong = true;
+            }
+            b = input.read();
+        }
+        lineNumber++;
+        return new Line(lineNumber, tooLong ? null : buffer.toString(StandardCharsets.UTF_8), tooLong);
+    }
+
+    record Line(long number, String text, boolean tooLong) {
+    }
+}
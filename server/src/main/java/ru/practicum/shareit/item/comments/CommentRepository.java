@@ -1,6 +1,12 @@
 package ru.practicum.shareit.item.comments;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-}
\ No newline at end of file
+    @Query("SELECT c FROM Comment c JOIN FETCH c.creator WHERE c.item.id IN ?1 ORDER BY c.createdAt")
+    List<Comment> findAllWithCreatorByItemIdIn(Collection<Long> itemIds);
+}
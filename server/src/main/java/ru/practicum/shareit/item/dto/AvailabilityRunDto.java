@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityRunDto {
+    private AvailabilityState state;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public enum AvailabilityState {
+        FREE,
+        BUSY
+    }
+}
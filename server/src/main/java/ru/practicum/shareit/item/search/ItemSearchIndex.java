@@ -0,0 +1,283 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over item names and descriptions.
+ * <p>
+ * Terms are case-folded (including {@code ё → е}) and every suffix of a term is kept in a sorted
+ * dictionary, so a query fragment resolves to the terms containing it with a single range scan.
+ * Candidates are then verified against the full normalized text, preserving the substring
+ * semantics of {@link ItemRepository#search}. Only the best {@code from + size} hits are kept while
+ * ranking, in a bounded heap, so a short fragment matching most items is not fully sorted.
+ * Until the initial load completes {@link #search} returns empty and callers fall back to the database.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final String TOKEN_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final NavigableMap<String, Set<String>> suffixes = new TreeMap<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Slice<Item> slice = itemRepository.findAllBy(PageRequest.of(0, WARM_UP_BATCH_SIZE, Sort.by("id")));
+        while (true) {
+            lock.writeLock().lock();
+            try {
+                slice.forEach(item -> {
+                    if (!documents.containsKey(item.getId())) {
+                        put(IndexedItem.of(item));
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!slice.hasNext()) {
+                break;
+            }
+            slice = itemRepository.findAllBy(slice.nextPageable());
+        }
+        ready = true;
+        log.info("Индекс поиска вещей построен: {} вещей", documents.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Item item) {
+        if (!enabled || item.getId() == null) {
+            return;
+        }
+        IndexedItem previous;
+        lock.writeLock().lock();
+        try {
+            previous = remove(item.getId());
+            put(IndexedItem.of(item));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        restoreOnRollback(item.getId(), previous);
+    }
+
+    public Optional<List<Long>> search(String text, int from, int size) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String query = normalize(text);
+        int limit = (int) Math.min((long) from + size, Integer.MAX_VALUE);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                IndexedItem document = documents.get(id);
+                if (document == null || !document.matches(query)) {
+                    continue;
+                }
+                Hit hit = new Hit(id, document.score(query));
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (Hit.RANKING.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(top.stream()
+                .sorted(Hit.RANKING)
+                .skip(from)
+                .map(Hit::id)
+                .toList());
+    }
+
+    private Set<Long> candidates(String query) {
+        List<String> tokens = tokenize(query).stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toList();
+        if (tokens.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> result = null;
+        for (String token : tokens) {
+            Set<Long> matches = new HashSet<>();
+            suffixes.subMap(token, true, token + Character.MAX_VALUE, false).values()
+                    .forEach(terms -> terms.forEach(term -> matches.addAll(postings.get(term))));
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void restoreOnRollback(Long itemId, IndexedItem previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Optional<IndexedItem>> originals =
+                (Map<Long, Optional<IndexedItem>>) TransactionSynchronizationManager.getResource(this);
+        if (originals == null) {
+            Map<Long, Optional<IndexedItem>> snapshot = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, snapshot);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ItemSearchIndex.this);
+                    if (status != STATUS_COMMITTED) {
+                        restore(snapshot);
+                    }
+                }
+            });
+            originals = snapshot;
+        }
+        originals.putIfAbsent(itemId, Optional.ofNullable(previous));
+    }
+
+    private void restore(Map<Long, Optional<IndexedItem>> originals) {
+        lock.writeLock().lock();
+        try {
+            originals.forEach((itemId, original) -> {
+                remove(itemId);
+                original.ifPresent(this::put);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(IndexedItem document) {
+        documents.put(document.id(), document);
+        for (String term : document.terms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                ids = new HashSet<>();
+                postings.put(term, ids);
+                for (int i = 0; i < term.length(); i++) {
+                    suffixes.computeIfAbsent(term.substring(i), key -> new HashSet<>()).add(term);
+                }
+            }
+            ids.add(document.id());
+        }
+    }
+
+    private IndexedItem remove(Long itemId) {
+        IndexedItem document = documents.remove(itemId);
+        if (document == null) {
+            return null;
+        }
+        for (String term : document.terms()) {
+            Set<Long> ids = postings.get(term);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                for (int i = 0; i < term.length(); i++) {
+                    String suffix = term.substring(i);
+                    Set<String> terms = suffixes.get(suffix);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        suffixes.remove(suffix);
+                    }
+                }
+            }
+        }
+        return document;
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split(TOKEN_SEPARATOR)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Hit(Long id, int score) {
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(Hit::id);
+    }
+
+    private record IndexedItem(Long id, String name, String description, boolean available, Set<String> terms) {
+        static IndexedItem of(Item item) {
+            String name = normalize(item.getName());
+            String description = normalize(item.getDescription());
+            Set<String> terms = new HashSet<>(tokenize(name));
+            terms.addAll(tokenize(description));
+            return new IndexedItem(item.getId(), name, description, Boolean.TRUE.equals(item.getAvailable()), terms);
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        int score(String query) {
+            int score = 0;
+            if (name.startsWith(query)) {
+                score += 2;
+            }
+            if (name.contains(query)) {
+                score += 4;
+            }
+            if (description.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+    }
+}
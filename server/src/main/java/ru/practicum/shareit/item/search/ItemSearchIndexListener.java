@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+
+@Component
+public class ItemSearchIndexListener {
+    private final ItemSearchIndex itemSearchIndex;
+
+    public ItemSearchIndexListener(@Lazy ItemSearchIndex itemSearchIndex) {
+        this.itemSearchIndex = itemSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        itemSearchIndex.index(item);
+    }
+}
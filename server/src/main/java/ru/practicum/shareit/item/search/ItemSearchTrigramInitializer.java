@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/**
+ * Backs {@code ItemRepository.search} with trigram GIN indexes when running on PostgreSQL.
+ * The indexes are built on {@code UPPER(...)} so the existing {@code UPPER(x) LIKE UPPER('%..%')}
+ * predicate can use them unchanged; other databases (H2 in tests) keep the plain scan.
+ * <p>
+ * A concurrent build that fails leaves an INVALID index behind, which {@code IF NOT EXISTS} would then
+ * skip forever, so such indexes are dropped and rebuilt on the next start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchTrigramInitializer {
+    static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    static final Map<String, String> INDEXES = Map.of(
+            "idx_items_name_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_name_trgm "
+                    + "ON items USING gin (UPPER(name) gin_trgm_ops)",
+            "idx_items_description_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_description_trgm "
+                    + "ON items USING gin (UPPER(description) gin_trgm_ops)"
+    );
+    static final String INVALID_INDEX_QUERY = "SELECT NOT i.indisvalid FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (databaseDriver() != DatabaseDriver.POSTGRESQL) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(CREATE_EXTENSION);
+            INDEXES.forEach((name, createStatement) -> {
+                if (jdbcTemplate.queryForList(INVALID_INDEX_QUERY, Boolean.class, name).contains(Boolean.TRUE)) {
+                    log.warn("Индекс {} остался невалидным после прерванного построения, пересоздаём", name);
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                jdbcTemplate.execute(createStatement);
+            });
+            log.info("Триграммные индексы для поиска вещей созданы");
+        } catch (DataAccessException e) {
+            log.warn("Не удалось создать триграммные индексы, поиск будет работать без них: {}", e.getMessage());
+        }
+    }
+
+    private DatabaseDriver databaseDriver() {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return DatabaseDriver.fromProductName(productName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Не удалось определить тип базы данных: {}", e.getMessage());
+            return DatabaseDriver.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor over a {@code (timestamp DESC, id DESC)} ordering.
+ * Without a cursor the position falls back to the legacy {@code from} offset.
+ */
+public final class KeysetCursor {
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    public static Sort sort(String timestampProperty) {
+        return Sort.by(Sort.Direction.DESC, timestampProperty, "id");
+    }
+
+    public static Limit limit(Integer size) {
+        return Limit.of(size);
+    }
+
+    public static ScrollPosition position(String cursor, Integer from, String timestampProperty) {
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor);
+            try {
+                return ScrollPosition.forward(Map.of(
+                        timestampProperty, LocalDateTime.parse(parts[0]),
+                        "id", Long.valueOf(parts[1])));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Некорректный курсор");
+            }
+        }
+        return from == null || from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
+
+    public static <E, T> CursorPage<T> page(Window<E> window,
+                                            Function<E, T> mapper,
+                                            Function<E, LocalDateTime> timestamp,
+                                            Function<E, Long> id) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            E last = window.getContent().get(window.size() - 1);
+            nextCursor = encode(timestamp.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(window.getContent().stream().map(mapper).toList(), nextCursor);
+    }
+
+    static String encode(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректный курсор");
+        }
+        String[] parts = raw.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Некорректный курсор");
+        }
+        return parts;
+    }
+}
@@ -1,5 +1,9 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -7,6 +11,6 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByCreatorIdOrderByCreatedAtDesc(Long creatorId);
 
-    List<ItemRequest> findAllByCreatorIdNotOrderByCreatedAtDesc(Long creatorId);
+    Window<ItemRequest> findByCreatorIdNot(Long creatorId, ScrollPosition position, Limit limit, Sort sort);
 }
 
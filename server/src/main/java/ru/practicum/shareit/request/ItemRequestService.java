@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
+
 import java.util.List;
 
 public interface ItemRequestService {
@@ -7,7 +9,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getUserRequests(Long userId);
 
-    List<ItemRequestDto> getAllRequests(Long userId);
+    CursorPage<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size, String cursor);
 
     ItemRequestDto getRequestById(Long userId, Long requestId);
 }
@@ -1,16 +1,19 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,19 +22,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int ITEM_LOOKUP_CHUNK_SIZE = 1000;
+    private static final String CREATED_AT = "createdAt";
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
-    private final ItemMapper itemMapper;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
     public ItemRequestDto createRequest(Long userId, ItemRequestDto dto) {
-        User creator = getUserById(userId);
+        userExistenceChecker.requireExists(userId);
 
         ItemRequest itemRequest = itemRequestMapper.toEntity(dto);
-        itemRequest.setCreator(creator);
+        itemRequest.setCreator(userRepository.getReferenceById(userId));
         itemRequest.setCreatedAt(LocalDateTime.now());
 
         itemRequest = itemRequestRepository.save(itemRequest);
@@ -41,7 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getUserRequests(Long userId) {
-        getUserById(userId);
+        userExistenceChecker.requireExists(userId);
 
         List<ItemRequest> requests = itemRequestRepository.findAllByCreatorIdOrderByCreatedAtDesc(userId);
 
@@ -49,24 +55,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequests(Long userId) {
-        getUserById(userId);
+    public CursorPage<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size, String cursor) {
+        userExistenceChecker.requireExists(userId);
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByCreatorIdNotOrderByCreatedAtDesc(userId);
+        Window<ItemRequest> requests = itemRequestRepository.findByCreatorIdNot(userId,
+                KeysetCursor.position(cursor, from, CREATED_AT),
+                KeysetCursor.limit(size),
+                KeysetCursor.sort(CREATED_AT));
+        CursorPage<ItemRequest> page = KeysetCursor.page(requests, request -> request,
+                ItemRequest::getCreatedAt, ItemRequest::getId);
 
-        return enrichWithItems(requests);
+        return new CursorPage<>(enrichWithItems(page.getContent()), page.getNextCursor());
     }
 
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
-        getUserById(userId);
+        userExistenceChecker.requireExists(userId);
 
         ItemRequest itemRequest = getRequest(requestId);
 
         ItemRequestDto dto = itemRequestMapper.toDto(itemRequest);
 
-        List<Item> items = itemRepository.findByRequestId(requestId);
-        dto.setItems(itemMapper.toDto(items));
+        dto.setItems(itemRepository.findDtosByRequestIdIn(List.of(requestId)));
 
         return dto;
     }
@@ -80,28 +90,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .map(ItemRequest::getId)
                 .toList();
 
-        List<Item> allItems = requestIds.stream()
-                .flatMap(id -> itemRepository.findByRequestId(id).stream())
-                .toList();
+        List<ItemDto> allItems = new ArrayList<>();
+        for (int i = 0; i < requestIds.size(); i += ITEM_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = requestIds.subList(i, Math.min(i + ITEM_LOOKUP_CHUNK_SIZE, requestIds.size()));
+            allItems.addAll(itemRepository.findDtosByRequestIdIn(chunk));
+        }
 
-        Map<Long, List<Item>> itemsByRequestId = allItems.stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        Map<Long, List<ItemDto>> itemsByRequestId = allItems.stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
 
         return requests.stream()
                 .map(request -> {
                     ItemRequestDto dto = itemRequestMapper.toDto(request);
-                    List<Item> items = itemsByRequestId.getOrDefault(request.getId(), List.of());
-                    dto.setItems(itemMapper.toDto(items));
+                    dto.setItems(itemsByRequestId.getOrDefault(request.getId(), List.of()));
                     return dto;
                 })
                 .toList();
     }
 
-    private User getUserById(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-    }
-
     private ItemRequest getRequest(Long requestId) {
         return itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден"));
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.Duration;
+
+/**
+ * Answers "does this user exist" for services that only need the guard. Ids confirmed by an
+ * {@code exists} query are remembered in a bounded cache, so repeated checks for active users
+ * cost no SQL. Deleting a user must call {@link #forget(Long)}.
+ */
+@Component
+public class UserExistenceChecker {
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistenceChecker(UserRepository userRepository,
+                                @Value("${shareit.user-existence.max-size:100000}") long maxSize,
+                                @Value("${shareit.user-existence.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public void requireExists(Long userId) {
+        if (knownUsers.getIfPresent(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+        knownUsers.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Drops the id now and again once the surrounding transaction completes, so a check that ran
+     * before the delete was committed cannot leave the id behind.
+     */
+    public void forget(Long userId) {
+        knownUsers.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    knownUsers.invalidate(userId);
+                }
+            });
+        }
+    }
+}
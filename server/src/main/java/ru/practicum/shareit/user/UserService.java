@@ -11,6 +11,8 @@ public interface UserService {
 
     List<UserDto> getAllUsers();
 
+    List<UserDto> getUsersByIds(List<Long> userIds);
+
     void deleteUser(Long userId);
 }
 
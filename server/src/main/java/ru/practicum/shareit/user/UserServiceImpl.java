@@ -7,7 +7,10 @@ import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +18,7 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
@@ -60,13 +64,30 @@ public class UserServiceImpl implements UserService {
         return userMapper.toDto(userRepository.findAll());
     }
 
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return userIds.stream()
+                .distinct()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toDto)
+                .toList();
+    }
+
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        if (!userRepository.findById(userId).isPresent()) {
+        if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
         userRepository.deleteById(userId);
+        userExistenceChecker.forget(userId);
     }
 }
 
@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs without a test transaction: entities reach the second-level cache only when the
+ * transaction that wrote them commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(new UserDto(null, "Cached owner", "cached.owner@example.com"));
+        item = itemService.addItem(owner.getId(), new ItemDto(null, "Дрель", "Ударная дрель", true, null));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(item.getId());
+        userRepository.findById(owner.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void getUserById_whenCalledRepeatedly_thenServedFromCache() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("Cached owner");
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(User.class.getName()).getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updateUser_whenCommitted_thenCacheReturnsNewValues() {
+        userService.updateUser(owner.getId(), new UserDto(null, "Renamed owner", null));
+        statistics.clear();
+
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("Renamed owner");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void deleteUser_whenCommitted_thenCachedEntryRemoved() {
+        itemRepository.deleteById(item.getId());
+
+        userService.deleteUser(owner.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(owner.getId()));
+    }
+
+    @Test
+    void updateItem_whenCommitted_thenCacheReturnsNewValues() {
+        itemService.updateItem(owner.getId(), item.getId(), new ItemDto(null, "Перфоратор", null, null, null));
+        statistics.clear();
+
+        Item cached = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("Перфоратор");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Item.class.getName()).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entityCaches_whenBound_thenPublishMetrics() {
+        userService.getUserById(owner.getId());
+
+        assertThat(meterRegistry.find("cache.gets").tag("entity", "User").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.evictions").tag("entity", "Item").meters()).isNotEmpty();
+    }
+}
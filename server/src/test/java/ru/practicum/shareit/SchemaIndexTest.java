@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaIndexTest {
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:schema-index;MODE=PostgreSQL", "test", "test", true);
+        ScriptUtils.executeSqlScript(dataSource.getConnection(), new ClassPathResource("schema.sql"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) SELECT x, 'user' || x, 'user' || x || '@example.com' "
+                + "FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, creator_id, created_at) "
+                + "SELECT x, 'request' || x, MOD(x, 200) + 1, DATEADD('HOUR', -x, NOW()) FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                + "SELECT x, 'item' || x, 'description', TRUE, MOD(x, 200) + 1, MOD(x, 1000) + 1 FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.execute("INSERT INTO bookings (id, start_date, end_date, item_id, creator_id, status) "
+                + "SELECT x, DATEADD('DAY', MOD(x, 60) - 30, NOW()), DATEADD('DAY', MOD(x, 60) - 29, NOW()), "
+                + "MOD(x, 1000) + 1, MOD(x, 200) + 1, CASEWHEN(MOD(x, 4) = 0, 'WAITING', 'APPROVED') "
+                + "FROM SYSTEM_RANGE(1, 20000)");
+        jdbcTemplate.execute("INSERT INTO comments (id, text, item_id, creator_id, created_at) "
+                + "SELECT x, 'comment' || x, MOD(x, 1000) + 1, MOD(x, 200) + 1, NOW() FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void schema_declaresIndexesForForeignKeyAccessPaths() {
+        assertThat(indexColumns("BOOKINGS", "IDX_BOOKINGS_CREATOR_START")).isEqualTo("CREATOR_ID,START_DATE,ID");
+        assertThat(indexColumns("BOOKINGS", "IDX_BOOKINGS_CREATOR_STATUS_START"))
+                .isEqualTo("CREATOR_ID,STATUS,START_DATE,ID");
+        assertThat(indexColumns("BOOKINGS", "IDX_BOOKINGS_ITEM_STATUS_START")).isEqualTo("ITEM_ID,STATUS,START_DATE");
+        assertThat(indexColumns("ITEMS", "IDX_ITEMS_OWNER")).isEqualTo("OWNER_ID,ID");
+        assertThat(indexColumns("ITEMS", "IDX_ITEMS_REQUEST")).isEqualTo("REQUEST_ID");
+        assertThat(indexColumns("COMMENTS", "IDX_COMMENTS_ITEM_CREATED_AT")).isEqualTo("ITEM_ID,CREATED_AT");
+        assertThat(indexColumns("REQUESTS", "IDX_REQUESTS_CREATOR_CREATED_AT")).isEqualTo("CREATOR_ID,CREATED_AT");
+    }
+
+    @Test
+    void bookingsByCreator_useIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE creator_id = 1 AND end_date < NOW() "
+                + "ORDER BY start_date DESC, id DESC"))
+                .doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    void bookingsByCreatorAndStatus_useCreatorStatusIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE creator_id = 1 AND status = 'WAITING' "
+                + "ORDER BY start_date DESC, id DESC"))
+                .contains("IDX_BOOKINGS_CREATOR_STATUS_START");
+    }
+
+    @Test
+    void bookingsByItemAndStatus_useItemStatusIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' "
+                + "AND start_date < NOW() ORDER BY start_date DESC"))
+                .contains("IDX_BOOKINGS_ITEM_STATUS_START");
+    }
+
+    @Test
+    void bookingsByItemOwner_useIndexes() {
+        assertThat(explain("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id WHERE i.owner_id = 1 "
+                + "ORDER BY b.start_date DESC, b.id DESC"))
+                .doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    void itemsByRequest_useIndex() {
+        assertThat(explain("SELECT * FROM items WHERE request_id IN (1, 2, 3)"))
+                .doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    void commentsByItem_useIndex() {
+        assertThat(explain("SELECT * FROM comments WHERE item_id IN (1, 2, 3) ORDER BY created_at"))
+                .doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    void requestsByCreator_useIndex() {
+        assertThat(explain("SELECT * FROM requests WHERE creator_id = 1 ORDER BY created_at DESC"))
+                .doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    void requestsOfOtherUsers_useCreatedAtIndex() {
+        assertThat(explain("SELECT * FROM requests WHERE creator_id <> 1 ORDER BY created_at DESC, id DESC LIMIT 10"))
+                .contains("IDX_REQUESTS_CREATED_AT_ID");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    private String indexColumns(String table, String index) {
+        return String.join(",", jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                + "WHERE TABLE_NAME = ? AND INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, table, index));
+    }
+}
@@ -7,10 +7,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -92,6 +97,47 @@ class BookingControllerTest {
         verify(bookingService, times(1)).approveBooking(userId, bookingId, approved);
     }
 
+    @Test
+    void approveBookings_whenOwnerApprovesList_thenReturnsResultPerId() throws Exception {
+        Long userId = 1L;
+        BookingDto approvedDto = new BookingDto();
+        approvedDto.setId(1L);
+        approvedDto.setStatus(BookingStatus.APPROVED);
+
+        when(bookingService.approveBookings(userId, List.of(1L, 2L), true)).thenReturn(List.of(
+                new BookingApprovalResultDto(1L, approvedDto, null),
+                new BookingApprovalResultDto(2L, null, "Бронирование уже обработано")));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].booking.status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(2))
+                .andExpect(jsonPath("$[1].error").value("Бронирование уже обработано"));
+    }
+
+    @Test
+    void exportBookingsByItemOwner_whenCsvRequested_thenStreamsBody() throws Exception {
+        Long userId = 1L;
+        StreamingResponseBody body = output -> output.write("id,start\n1,2030-01-01T00:00\n".getBytes(StandardCharsets.UTF_8));
+        when(bookingService.exportBookingsByItemOwner(userId, BookingExportFormat.CSV)).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, userId)
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,start\n1,2030-01-01T00:00\n"));
+    }
+
     @Test
     void getBookingById_whenBookingExists_thenReturnsBooking() throws Exception {
         Long userId = 1L;
@@ -127,7 +173,8 @@ class BookingControllerTest {
                 createBookingDto(2L, BookingStatus.APPROVED)
         );
 
-        when(bookingService.getBookingsByCreator(userId, state)).thenReturn(bookings);
+        when(bookingService.getBookingsByCreator(userId, state, 0, 10, null))
+                .thenReturn(new CursorPage<>(bookings, null));
 
         mockMvc.perform(get("/bookings")
                         .header(USER_ID_HEADER, userId)
@@ -140,7 +187,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].status").value("APPROVED"));
 
-        verify(bookingService, times(1)).getBookingsByCreator(userId, state);
+        verify(bookingService, times(1)).getBookingsByCreator(userId, state, 0, 10, null);
     }
 
     @Test
@@ -153,7 +200,8 @@ class BookingControllerTest {
                 createBookingDto(2L, BookingStatus.APPROVED)
         );
 
-        when(bookingService.getBookingsByItemOwner(userId, state)).thenReturn(bookings);
+        when(bookingService.getBookingsByItemOwner(userId, state, 0, 10, null))
+                .thenReturn(new CursorPage<>(bookings, null));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(USER_ID_HEADER, userId)
@@ -164,7 +212,27 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[1].id").value(2));
 
-        verify(bookingService, times(1)).getBookingsByItemOwner(userId, state);
+        verify(bookingService, times(1)).getBookingsByItemOwner(userId, state, 0, 10, null);
+    }
+
+    @Test
+    void getBookingsByCreator_whenMorePagesExist_thenReturnsNextCursorHeader() throws Exception {
+        Long userId = 1L;
+        BookingState state = BookingState.ALL;
+
+        List<BookingDto> bookings = List.of(createBookingDto(1L, BookingStatus.WAITING));
+
+        when(bookingService.getBookingsByCreator(userId, state, 0, 1, "abc"))
+                .thenReturn(new CursorPage<>(bookings, "next"));
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("state", state.name())
+                        .param("size", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1));
     }
 
     private BookingDto createBookingDto(Long id, BookingStatus status) {
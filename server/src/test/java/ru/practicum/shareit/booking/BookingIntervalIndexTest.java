@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final AtomicLong ids = new AtomicLong();
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        index = new BookingIntervalIndex(bookingRepository, 10_000, 600);
+    }
+
+    @Test
+    void reserve_whenScheduleLoadedFromRepository_thenOverlapWithStoredBookingRejected() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateAfter(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(1L, BASE, BASE.plusDays(2))));
+
+        assertThrows(ConflictException.class, () -> index.reserve(booking(1L, BASE.plusDays(1), BASE.plusDays(3))));
+    }
+
+    @Test
+    void reserve_whenLegacyRowsOverlap_thenCollisionWithEnclosingBookingRejected() {
+        Booking enclosing = booking(1L, BASE.plusDays(1), BASE.plusDays(20));
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateAfter(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(enclosing, booking(1L, BASE.plusDays(3), BASE.plusDays(4))));
+
+        assertThrows(ConflictException.class, () -> index.reserve(booking(1L, BASE.plusDays(10), BASE.plusDays(12))));
+        assertThat(index.intervals(1L, BASE.plusDays(10), BASE.plusDays(12)))
+                .extracting(BookingIntervalIndex.Interval::bookingId)
+                .containsExactly(enclosing.getId());
+    }
+
+    @Test
+    void reserve_whenAnotherScheduleLoading_thenNotBlockedByIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateAfter(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return List.of();
+                });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> index.reserve(booking(1L, BASE, BASE.plusDays(1))));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Item 17 falls into the same ConcurrentHashMap bin as item 1.
+            CompletableFuture.runAsync(() -> index.reserve(booking(17L, BASE, BASE.plusDays(1))))
+                    .get(5, TimeUnit.SECONDS);
+
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void intervals_whenRangeStartsBeforeScheduleLoaded_thenQueryDatabase() {
+        LocalDateTime from = LocalDateTime.now().minusDays(10);
+        LocalDateTime to = LocalDateTime.now().plusDays(10);
+        List<Booking> stored = List.of(booking(1L, from.plusDays(1), from.plusDays(2)));
+        when(bookingRepository.findByItemIdAndStatusInAndStartDateBeforeAndEndDateAfterOrderByStartDate(
+                1L, BookingIntervalIndex.BLOCKING_STATUSES, to, from)).thenReturn(stored);
+
+        assertThat(index.intervals(1L, from, to)).extracting(BookingIntervalIndex.Interval::bookingId)
+                .containsExactly(stored.getFirst().getId());
+    }
+
+    @Test
+    void reserve_whenSchedulesEvicted_thenUncommittedReservationKept() {
+        index = new BookingIntervalIndex(bookingRepository, 1, 600);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.reserve(booking(1L, BASE, BASE.plusDays(1)));
+            for (long itemId = 2; itemId <= 100; itemId++) {
+                index.intervals(itemId, BASE, BASE.plusDays(1));
+            }
+
+            assertThrows(ConflictException.class, () -> index.reserve(booking(1L, BASE, BASE.plusDays(1))));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserve_whenReleased_thenIntervalCanBeReservedAgain() {
+        Booking first = booking(1L, BASE, BASE.plusDays(1));
+        index.reserve(first);
+        index.release(first);
+
+        index.reserve(booking(1L, BASE, BASE.plusDays(1)));
+
+        assertThat(index.intervals(1L, BASE.minusDays(1), BASE.plusDays(2))).hasSize(1);
+    }
+
+    @Test
+    void reserve_whenDifferentItems_thenIndependent() {
+        index.reserve(booking(1L, BASE, BASE.plusDays(1)));
+        index.reserve(booking(2L, BASE, BASE.plusDays(1)));
+
+        assertThat(index.intervals(2L, BASE, BASE.plusDays(1))).hasSize(1);
+    }
+
+    @Test
+    void reserve_whenConcurrentOverlappingRequests_thenOnlyOneSucceeds() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Booking booking = booking(1L, BASE.plusHours(i), BASE.plusDays(1).plusHours(i));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        index.reserve(booking);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                reserved += result.get() ? 1 : 0;
+            }
+            assertThat(reserved).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void intervals_whenRangeCutsIntervals_thenReturnOverlappingOnly() {
+        index.reserve(booking(1L, BASE, BASE.plusDays(1)));
+        index.reserve(booking(1L, BASE.plusDays(2), BASE.plusDays(3)));
+        index.reserve(booking(1L, BASE.plusDays(4), BASE.plusDays(5)));
+
+        List<BookingIntervalIndex.Interval> intervals = index.intervals(1L, BASE.plusHours(12), BASE.plusDays(4));
+
+        assertThat(intervals).extracting(BookingIntervalIndex.Interval::start)
+                .containsExactly(BASE, BASE.plusDays(2));
+    }
+
+    private Booking booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(ids.incrementAndGet());
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        return booking;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingListingSqlShapeTest$RecordingInspector")
+@Transactional
+@ActiveProfiles("test")
+class BookingListingSqlShapeTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("User");
+        user.setEmail("user@example.com");
+        user = userRepository.save(user);
+        userRepository.flush();
+    }
+
+    @Test
+    void getBookingsByCreator_whenAnyState_thenSameStatement() {
+        RecordingInspector.STATEMENTS.clear();
+
+        for (BookingState state : BookingState.values()) {
+            bookingService.getBookingsByCreator(user.getId(), state, 0, 10, null);
+        }
+
+        assertThat(listingStatements()).hasSize(1);
+    }
+
+    @Test
+    void getBookingsByItemOwner_whenAnyState_thenSameStatement() {
+        RecordingInspector.STATEMENTS.clear();
+
+        for (BookingState state : BookingState.values()) {
+            bookingService.getBookingsByItemOwner(user.getId(), state, 0, 10, null);
+        }
+
+        assertThat(listingStatements()).hasSize(1);
+    }
+
+    private Set<String> listingStatements() {
+        return RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("from bookings"))
+                .collect(Collectors.toSet());
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 
@@ -37,6 +48,9 @@ class BookingServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -300,7 +314,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(2);
@@ -322,7 +336,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.CURRENT);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.CURRENT, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -344,7 +358,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.PAST);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.PAST, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -366,7 +380,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.FUTURE);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.FUTURE, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -389,7 +403,7 @@ class BookingServiceImplTest {
         BookingDto created2 = bookingService.createBooking(booker.getId(), approvedDto);
         bookingService.approveBooking(owner.getId(), created2.getId(), true);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.WAITING);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.WAITING, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -413,7 +427,7 @@ class BookingServiceImplTest {
         waitingDto.setEndDate(now.plusDays(4));
         bookingService.createBooking(booker.getId(), waitingDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.REJECTED);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.REJECTED, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -436,7 +450,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(2);
@@ -458,7 +472,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.CURRENT);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.CURRENT, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -480,7 +494,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.PAST);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.PAST, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -502,7 +516,7 @@ class BookingServiceImplTest {
         futureDto.setEndDate(now.plusDays(2));
         bookingService.createBooking(booker.getId(), futureDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.FUTURE);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.FUTURE, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -525,7 +539,7 @@ class BookingServiceImplTest {
         BookingDto created2 = bookingService.createBooking(booker.getId(), approvedDto);
         bookingService.approveBooking(owner.getId(), created2.getId(), true);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.WAITING);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.WAITING, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -549,7 +563,7 @@ class BookingServiceImplTest {
         waitingDto.setEndDate(now.plusDays(4));
         bookingService.createBooking(booker.getId(), waitingDto);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.REJECTED);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.REJECTED, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
@@ -573,14 +587,14 @@ class BookingServiceImplTest {
     @Test
     void getBookingsByCreator_whenUserNotFound_thenThrowNotFoundException() {
         assertThrows(NotFoundException.class, () -> {
-            bookingService.getBookingsByCreator(999L, BookingState.ALL);
+            bookingService.getBookingsByCreator(999L, BookingState.ALL, 0, 10, null);
         });
     }
 
     @Test
     void getBookingsByItemOwner_whenUserNotFound_thenThrowNotFoundException() {
         assertThrows(NotFoundException.class, () -> {
-            bookingService.getBookingsByItemOwner(999L, BookingState.ALL);
+            bookingService.getBookingsByItemOwner(999L, BookingState.ALL, 0, 10, null);
         });
     }
 
@@ -591,7 +605,7 @@ class BookingServiceImplTest {
         newUser.setEmail("newuser@example.com");
         newUser = userRepository.save(newUser);
 
-        List<BookingDto> bookings = bookingService.getBookingsByCreator(newUser.getId(), BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(newUser.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).isEmpty();
@@ -604,7 +618,7 @@ class BookingServiceImplTest {
         newOwner.setEmail("newowner@example.com");
         newOwner = userRepository.save(newOwner);
 
-        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(newOwner.getId(), BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(newOwner.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertThat(bookings).isNotNull();
         assertThat(bookings).isEmpty();
@@ -643,5 +657,288 @@ class BookingServiceImplTest {
             bookingService.approveBooking(owner.getId(), createdBooking.getId(), false);
         });
     }
-}
 
+    @Test
+    void getBookingsByCreator_withOffset_thenReturnRequestedSlice() {
+        List<Long> ids = createSequentialBookings(5);
+
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 2, 2, null)
+                .getContent();
+
+        assertThat(bookings).extracting(BookingDto::getId).containsExactly(ids.get(2), ids.get(1));
+    }
+
+    @Test
+    void getBookingsByCreator_withCursor_thenContinueAfterLastReturnedBooking() {
+        List<Long> ids = createSequentialBookings(5);
+
+        CursorPage<BookingDto> first = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 0, 2, null);
+        CursorPage<BookingDto> second = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 0, 2,
+                first.getNextCursor());
+        CursorPage<BookingDto> third = bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 0, 2,
+                second.getNextCursor());
+
+        assertThat(first.getContent()).extracting(BookingDto::getId).containsExactly(ids.get(4), ids.get(3));
+        assertThat(second.getContent()).extracting(BookingDto::getId).containsExactly(ids.get(2), ids.get(1));
+        assertThat(third.getContent()).extracting(BookingDto::getId).containsExactly(ids.get(0));
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getBookingsByItemOwner_withCursor_thenContinueAfterLastReturnedBooking() {
+        List<Long> ids = createSequentialBookings(3);
+
+        CursorPage<BookingDto> first = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.ALL, 0, 2, null);
+        CursorPage<BookingDto> second = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.ALL, 0, 2,
+                first.getNextCursor());
+
+        assertThat(first.getContent()).extracting(BookingDto::getId).containsExactly(ids.get(2), ids.get(1));
+        assertThat(second.getContent()).extracting(BookingDto::getId).containsExactly(ids.get(0));
+    }
+
+    @Test
+    void getBookingsByCreator_whenCursorMalformed_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            bookingService.getBookingsByCreator(booker.getId(), BookingState.ALL, 0, 2, "not-a-cursor");
+        });
+    }
+
+    @Test
+    void createBooking_whenIntervalOverlapsExistingBooking_thenThrowConflictException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(booker.getId(), bookingDto(start, start.plusDays(2)));
+
+        assertThrows(ConflictException.class, () -> {
+            bookingService.createBooking(booker.getId(), bookingDto(start.plusDays(1), start.plusDays(3)));
+        });
+        assertThrows(ConflictException.class, () -> {
+            bookingService.createBooking(booker.getId(), bookingDto(start.minusHours(1), start.plusHours(1)));
+        });
+    }
+
+    @Test
+    void createBooking_whenIntervalAdjacentToExistingBooking_thenBookingCreated() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(booker.getId(), bookingDto(start, start.plusDays(1)));
+
+        BookingDto after = bookingService.createBooking(booker.getId(), bookingDto(start.plusDays(1), start.plusDays(2)));
+        BookingDto before = bookingService.createBooking(booker.getId(), bookingDto(start.minusDays(1), start));
+
+        assertThat(after.getId()).isNotNull();
+        assertThat(before.getId()).isNotNull();
+    }
+
+    @Test
+    void createBooking_whenOverlappingBookingRejected_thenBookingCreated() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto rejected = bookingService.createBooking(booker.getId(), bookingDto(start, start.plusDays(2)));
+        bookingService.approveBooking(owner.getId(), rejected.getId(), false);
+
+        BookingDto created = bookingService.createBooking(booker.getId(), bookingDto(start, start.plusDays(2)));
+
+        assertThat(created.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void getBookingsByItemOwner_whenBookingsSpanManyItemsAndBookers_thenSingleListingQuery() {
+        for (int i = 0; i < 15; i++) {
+            User otherBooker = new User();
+            otherBooker.setName("Booker " + i);
+            otherBooker.setEmail("booker" + i + "@example.com");
+            otherBooker = userRepository.save(otherBooker);
+
+            Item otherItem = new Item();
+            otherItem.setName("Item " + i);
+            otherItem.setDescription("Description " + i);
+            otherItem.setAvailable(true);
+            otherItem.setOwner(owner);
+            otherItem = itemRepository.save(otherItem);
+
+            Booking booking = new Booking();
+            booking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            booking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            booking.setItem(otherItem);
+            booking.setCreator(otherBooker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDto> bookings = bookingService.getBookingsByItemOwner(owner.getId(), BookingState.WAITING, 0, 20, null)
+                .getContent();
+
+        assertThat(bookings).hasSize(15)
+                .allSatisfy(booking -> assertThat(booking.getCreator().getName()).startsWith("Booker "));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getBookingsByCreator_whenBookingsSpanManyItemsAndOwners_thenSingleListingQuery() {
+        for (int i = 0; i < 15; i++) {
+            User otherOwner = new User();
+            otherOwner.setName("Owner " + i);
+            otherOwner.setEmail("owner" + i + "@example.com");
+            otherOwner = userRepository.save(otherOwner);
+
+            Item otherItem = new Item();
+            otherItem.setName("Item " + i);
+            otherItem.setDescription("Description " + i);
+            otherItem.setAvailable(true);
+            otherItem.setOwner(otherOwner);
+            otherItem = itemRepository.save(otherItem);
+
+            Booking booking = new Booking();
+            booking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            booking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            booking.setItem(otherItem);
+            booking.setCreator(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDto> bookings = bookingService.getBookingsByCreator(booker.getId(), BookingState.WAITING, 0, 20, null)
+                .getContent();
+
+        assertThat(bookings).hasSize(15)
+                .allSatisfy(booking -> {
+                    assertThat(booking.getItem().getName()).startsWith("Item ");
+                    assertThat(booking.getCreator().getId()).isEqualTo(booker.getId());
+                });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void approveBookings_whenIdsMixed_thenReportResultPerId() {
+        List<Long> ids = createSequentialBookings(3);
+        bookingService.approveBooking(owner.getId(), ids.get(2), true);
+
+        User otherOwner = new User();
+        otherOwner.setName("Other owner");
+        otherOwner.setEmail("other.owner@example.com");
+        otherOwner = userRepository.save(otherOwner);
+        Item otherItem = new Item();
+        otherItem.setName("Other item");
+        otherItem.setDescription("Other description");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(otherOwner);
+        otherItem = itemRepository.save(otherItem);
+        BookingDto foreignDto = bookingDto(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        foreignDto.setItemId(otherItem.getId());
+        Long foreignId = bookingService.createBooking(booker.getId(), foreignDto).getId();
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(owner.getId(),
+                List.of(ids.get(0), ids.get(1), ids.get(2), 999L, foreignId, ids.get(0)), true);
+
+        assertThat(results).extracting(BookingApprovalResultDto::getBookingId)
+                .containsExactly(ids.get(0), ids.get(1), ids.get(2), 999L, foreignId);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(results.get(1).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(results.get(2).getError()).isEqualTo("Бронирование уже обработано");
+        assertThat(results.get(3).getError()).isEqualTo("Бронирование не найдено");
+        assertThat(results.get(4).getError()).isEqualTo("Только владелец вещи может подтвердить бронирование");
+        assertThat(bookingRepository.findById(foreignId).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBookings_whenRejected_thenIntervalsFreed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        Long bookingId = bookingService.createBooking(booker.getId(), bookingDto(start, end)).getId();
+
+        bookingService.approveBookings(owner.getId(), List.of(bookingId), false);
+
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingService.createBooking(booker.getId(), bookingDto(start, end)).getId()).isNotNull();
+    }
+
+    @Test
+    void approveBookings_whenManyBookings_thenOneSelectAndBatchedUpdate() {
+        List<Long> ids = createSequentialBookings(20);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(owner.getId(), ids, true);
+        entityManager.flush();
+
+        assertThat(results).allSatisfy(result -> assertThat(result.getError()).isNull());
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void exportBookingsByItemOwner_whenNdjson_thenOneLinePerBookingNewestFirst() throws IOException {
+        List<Long> ids = createSequentialBookings(3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookingService.exportBookingsByItemOwner(owner.getId(), BookingExportFormat.NDJSON).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":" + ids.get(2)).contains("\"booker\":{\"id\":" + booker.getId());
+        assertThat(lines[2]).contains("\"id\":" + ids.get(0));
+    }
+
+    @Test
+    void exportBookingsByItemOwner_whenCsv_thenHeaderAndQuotedFields() throws IOException {
+        item.setName("Дрель, ударная");
+        Long bookingId = createSequentialBookings(1).getFirst();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookingService.exportBookingsByItemOwner(owner.getId(), BookingExportFormat.CSV).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,start,end,itemId,itemName,bookerId,bookerName,status");
+        assertThat(lines[1]).startsWith(bookingId + ",")
+                .contains(",\"Дрель, ударная\"," + booker.getId() + ",Booker,WAITING");
+    }
+
+    @Test
+    void exportBookingsByItemOwner_whenMoreRowsThanClearInterval_thenExportsAll() throws IOException {
+        createSequentialBookings(600);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookingService.exportBookingsByItemOwner(owner.getId(), BookingExportFormat.NDJSON).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).lines()).hasSize(600);
+    }
+
+    @Test
+    void exportBookingsByItemOwner_whenUserNotFound_thenThrowNotFoundException() {
+        assertThrows(NotFoundException.class,
+                () -> bookingService.exportBookingsByItemOwner(999L, BookingExportFormat.NDJSON));
+    }
+
+    private BookingDto bookingDto(LocalDateTime start, LocalDateTime end) {
+        BookingDto dto = new BookingDto();
+        dto.setItemId(item.getId());
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        return dto;
+    }
+
+    private List<Long> createSequentialBookings(int count) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BookingDto dto = new BookingDto();
+            dto.setItemId(item.getId());
+            dto.setStartDate(base.plusDays(i * 2L));
+            dto.setEndDate(base.plusDays(i * 2L + 1));
+            ids.add(bookingService.createBooking(booker.getId(), dto).getId());
+        }
+        return ids;
+    }
+}
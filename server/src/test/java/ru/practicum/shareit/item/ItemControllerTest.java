@@ -7,8 +7,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.bulk.ItemImportErrorDto;
+import ru.practicum.shareit.item.bulk.ItemImportResultDto;
+import ru.practicum.shareit.item.bulk.ItemImportService;
 import ru.practicum.shareit.item.comments.CommentDto;
 import ru.practicum.shareit.item.comments.CommentService;
+import ru.practicum.shareit.item.dto.AvailabilityRunDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 
@@ -37,6 +42,9 @@ class ItemControllerTest {
     @MockBean
     private CommentService commentService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @Test
@@ -60,6 +68,26 @@ class ItemControllerTest {
         verify(itemService, times(1)).addItem(eq(userId), any(ItemDto.class));
     }
 
+    @Test
+    void importItems_whenNdjsonBody_thenReturnsImportResult() throws Exception {
+        Long userId = 1L;
+        ItemImportResultDto result = new ItemImportResultDto(1, 1,
+                List.of(new ItemImportErrorDto(6, "Некорректный JSON")));
+
+        when(itemImportService.importItems(eq(userId), any(), eq(5L))).thenReturn(result);
+
+        mockMvc.perform(post("/items/bulk")
+                        .header(USER_ID_HEADER, userId)
+                        .param("firstLine", "5")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Drill\",\"description\":\"Power drill\",\"available\":true}\n{"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(6))
+                .andExpect(jsonPath("$.errors[0].error").value("Некорректный JSON"));
+    }
+
     @Test
     void updateItem_whenValidUpdate_thenReturnsUpdatedItem() throws Exception {
         Long userId = 1L;
@@ -133,7 +161,7 @@ class ItemControllerTest {
                 new ItemDto(2L, "Electric Drill", "Cordless drill", true, null)
         );
 
-        when(itemService.searchItems(searchText)).thenReturn(items);
+        when(itemService.searchItems(searchText, 0, 10)).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .param("text", searchText))
@@ -143,7 +171,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Drill"))
                 .andExpect(jsonPath("$[1].name").value("Electric Drill"));
 
-        verify(itemService, times(1)).searchItems(searchText);
+        verify(itemService, times(1)).searchItems(searchText, 0, 10);
+    }
+
+    @Test
+    void getItemAvailability_whenRangeProvided_thenReturnsRuns() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 3, 0, 0);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to, List.of(
+                new AvailabilityRunDto(AvailabilityRunDto.AvailabilityState.BUSY, from, from.plusDays(1)),
+                new AvailabilityRunDto(AvailabilityRunDto.AvailabilityState.FREE, from.plusDays(1), to)));
+
+        when(itemService.getItemAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-03T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1))
+                .andExpect(jsonPath("$.runs.length()").value(2))
+                .andExpect(jsonPath("$.runs[0].state").value("BUSY"))
+                .andExpect(jsonPath("$.runs[1].start").value("2030-01-02T00:00:00"));
     }
 
     @Test
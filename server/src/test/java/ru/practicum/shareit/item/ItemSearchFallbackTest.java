@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search.index.enabled=false")
+@Transactional
+@ActiveProfiles("test")
+class ItemSearchFallbackTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void searchItems_whenFromNotMultipleOfSize_thenSkipExactlyFrom() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            ids.add(save("Дрель " + i, "", true).getId());
+        }
+        itemRepository.flush();
+
+        List<ItemDto> results = itemService.searchItems("дрель", 1, 2);
+
+        assertThat(results).extracting(ItemDto::getId).containsExactly(ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void searchItems_whenCaseDiffers_thenMatchSubstring() {
+        Item item = save("Елочная гирлянда", "Светодиодная", true);
+        itemRepository.flush();
+
+        assertThat(itemService.searchItems("ЕЛОЧ", 0, 10)).extracting(ItemDto::getId).containsExactly(item.getId());
+    }
+
+    @Test
+    void searchItems_whenYoDiffers_thenNoMatchLikePlainSubstring() {
+        save("Ёлочная гирлянда", "", true);
+        itemRepository.flush();
+
+        assertThat(itemService.searchItems("елоч", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void searchItems_whenNameAndDescriptionMatch_thenRankLikeIndex() {
+        Item byDescription = save("Отвертка", "Подходит к дрели", true);
+        Item byName = save("Ударная дрель", "Мощная", true);
+        Item byPrefix = save("Дрель", "", true);
+        save("Дрель", "Сломана", false);
+        itemRepository.flush();
+
+        assertThat(itemService.searchItems("дрел", 0, 10)).extracting(ItemDto::getId)
+                .containsExactly(byPrefix.getId(), byName.getId(), byDescription.getId());
+    }
+
+    private Item save(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+}
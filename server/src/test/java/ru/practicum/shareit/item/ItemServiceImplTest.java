@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +11,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.comments.Comment;
+import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.dto.AvailabilityRunDto;
+import ru.practicum.shareit.item.dto.AvailabilityRunDto.AvailabilityState;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
 import ru.practicum.shareit.request.ItemRequest;
@@ -20,6 +30,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ForbiddenException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +56,15 @@ class ItemServiceImplTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item1;
@@ -93,6 +113,7 @@ class ItemServiceImplTest {
         nextBooking.setCreator(booker);
         nextBooking.setStatus(BookingStatus.APPROVED);
         bookingRepository.save(nextBooking);
+        bookingRepository.flush();
     }
 
     @Test
@@ -263,7 +284,7 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_whenTextIsBlank_thenReturnEmptyList() {
-        List<ItemDto> results = itemService.searchItems("");
+        List<ItemDto> results = itemService.searchItems("", 0, 10);
 
         assertThat(results).isNotNull();
         assertThat(results).isEmpty();
@@ -271,7 +292,7 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_whenTextMatches_thenReturnMatchingItems() {
-        List<ItemDto> results = itemService.searchItems("Item");
+        List<ItemDto> results = itemService.searchItems("Item", 0, 10);
 
         assertThat(results).isNotNull();
         assertThat(results).hasSizeGreaterThanOrEqualTo(1);
@@ -292,7 +313,7 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_whenTextIsNull_thenReturnEmptyList() {
-        List<ItemDto> results = itemService.searchItems(null);
+        List<ItemDto> results = itemService.searchItems(null, 0, 10);
 
         assertThat(results).isNotNull();
         assertThat(results).isEmpty();
@@ -300,12 +321,36 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_whenNoMatches_thenReturnEmptyList() {
-        List<ItemDto> results = itemService.searchItems("nonexistentitem12345");
+        List<ItemDto> results = itemService.searchItems("nonexistentitem12345", 0, 10);
 
         assertThat(results).isNotNull();
         assertThat(results).isEmpty();
     }
 
+    @Test
+    void searchItems_whenItemRenamed_thenFindByNewNameOnly() {
+        ItemDto updateDto = new ItemDto();
+        updateDto.setName("Перфоратор");
+        itemService.updateItem(owner.getId(), item1.getId(), updateDto);
+        itemRepository.flush();
+
+        List<ItemDto> byNewName = itemService.searchItems("перфоратор", 0, 10);
+        List<ItemDto> byOldName = itemService.searchItems("Item 1", 0, 10);
+
+        assertThat(byNewName).extracting(ItemDto::getId).containsExactly(item1.getId());
+        assertThat(byOldName).isEmpty();
+    }
+
+    @Test
+    void searchItems_whenPaged_thenReturnRequestedSlice() {
+        List<ItemDto> firstPage = itemService.searchItems("Item", 0, 1);
+        List<ItemDto> secondPage = itemService.searchItems("Item", 1, 1);
+
+        assertThat(firstPage).hasSize(1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(firstPage.get(0).getId()).isNotEqualTo(secondPage.get(0).getId());
+    }
+
     @Test
     void addItem_whenUserNotFound_thenThrowNotFoundException() {
         ItemDto itemDto = new ItemDto();
@@ -349,5 +394,193 @@ class ItemServiceImplTest {
         assertThat(result.getLastBooking()).isNull();
         assertThat(result.getNextBooking()).isNull();
     }
-}
 
+    @Test
+    void getItemAvailability_whenItemHasBookings_thenReturnFreeAndBusyRuns() {
+        LocalDateTime from = LocalDateTime.now().minusDays(3);
+        LocalDateTime to = LocalDateTime.now().plusDays(3);
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(item1.getId(), from, to);
+
+        assertThat(availability.getItemId()).isEqualTo(item1.getId());
+        assertThat(availability.getRuns()).extracting(AvailabilityRunDto::getState).containsExactly(
+                AvailabilityState.FREE, AvailabilityState.BUSY, AvailabilityState.FREE,
+                AvailabilityState.BUSY, AvailabilityState.FREE);
+        assertThat(availability.getRuns().getFirst().getStart()).isEqualTo(from);
+        assertThat(availability.getRuns().getLast().getEnd()).isEqualTo(to);
+    }
+
+    @Test
+    void getItemAvailability_whenBookingsAdjacent_thenMergeIntoSingleBusyRun() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(booker.getId(), bookingDto(item2, start, start.plusDays(1)));
+        bookingService.createBooking(booker.getId(), bookingDto(item2, start.plusDays(1), start.plusDays(2)));
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(item2.getId(),
+                start.plusHours(12), start.plusDays(3));
+
+        assertThat(availability.getRuns()).containsExactly(
+                new AvailabilityRunDto(AvailabilityState.BUSY, start.plusHours(12), start.plusDays(2)),
+                new AvailabilityRunDto(AvailabilityState.FREE, start.plusDays(2), start.plusDays(3)));
+    }
+
+    @Test
+    void getItemAvailability_whenBookingsOverlap_thenContainedBookingDoesNotCutBusyRun() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        saveLegacyBooking(item2, base.plusDays(1), base.plusDays(20));
+        saveLegacyBooking(item2, base.plusDays(3), base.plusDays(4));
+        bookingRepository.flush();
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(item2.getId(), base, base.plusDays(25));
+
+        assertThat(availability.getRuns()).containsExactly(
+                new AvailabilityRunDto(AvailabilityState.FREE, base, base.plusDays(1)),
+                new AvailabilityRunDto(AvailabilityState.BUSY, base.plusDays(1), base.plusDays(20)),
+                new AvailabilityRunDto(AvailabilityState.FREE, base.plusDays(20), base.plusDays(25)));
+    }
+
+    @Test
+    void getItemAvailability_whenBookingCreatedOrRejected_thenRunsUpdated() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        assertThat(itemService.getItemAvailability(item2.getId(), start, end).getRuns())
+                .containsExactly(new AvailabilityRunDto(AvailabilityState.FREE, start, end));
+
+        BookingDto booking = bookingService.createBooking(booker.getId(), bookingDto(item2, start, end));
+        assertThat(itemService.getItemAvailability(item2.getId(), start, end).getRuns())
+                .containsExactly(new AvailabilityRunDto(AvailabilityState.BUSY, start, end));
+
+        bookingService.approveBooking(owner.getId(), booking.getId(), false);
+        assertThat(itemService.getItemAvailability(item2.getId(), start, end).getRuns())
+                .containsExactly(new AvailabilityRunDto(AvailabilityState.FREE, start, end));
+    }
+
+    @Test
+    void getItemAvailability_whenRangeEmpty_thenThrowIllegalArgumentException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            itemService.getItemAvailability(item1.getId(), now, now);
+        });
+    }
+
+    @Test
+    void getItemAvailability_whenItemNotFound_thenThrowNotFoundException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(NotFoundException.class, () -> {
+            itemService.getItemAvailability(999L, now, now.plusDays(1));
+        });
+    }
+
+    @Test
+    void getItemsByOwner_whenManyItemsWithComments_thenStatementCountIndependentOfItemCount() {
+        for (int i = 0; i < 30; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item = itemRepository.save(item);
+
+            User author = new User();
+            author.setName("Author " + i);
+            author.setEmail("author" + i + "@example.com");
+            author = userRepository.save(author);
+
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setItem(item);
+            comment.setCreator(author);
+            comment.setCreatedAt(LocalDateTime.now());
+            commentRepository.save(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemWithBookingsDto> items = itemService.getItemsByOwner(owner.getId());
+
+        assertThat(items).hasSize(32);
+        assertThat(items).filteredOn(item -> !item.getComments().isEmpty()).hasSize(30)
+                .allSatisfy(item -> assertThat(item.getComments().getFirst().getCreatorName()).startsWith("Author"));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void getItemsByIds_whenIdsRequested_thenReturnInRequestedOrderSkippingUnknown() {
+        List<ItemWithBookingsDto> items = itemService.getItemsByIds(booker.getId(),
+                List.of(item2.getId(), 999L, item1.getId(), item2.getId()));
+
+        assertThat(items).extracting(ItemWithBookingsDto::getId).containsExactly(item2.getId(), item1.getId());
+    }
+
+    @Test
+    void getItemsByIds_whenOwnerRequests_thenOnlyOwnedItemsHaveBookings() {
+        Item bookerItem = new Item();
+        bookerItem.setName("Booker item");
+        bookerItem.setDescription("Not owned by owner");
+        bookerItem.setAvailable(true);
+        bookerItem.setOwner(booker);
+        bookerItem = itemRepository.save(bookerItem);
+
+        Booking booking = new Booking();
+        booking.setStartDate(LocalDateTime.now().plusDays(3));
+        booking.setEndDate(LocalDateTime.now().plusDays(4));
+        booking.setItem(bookerItem);
+        booking.setCreator(owner);
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+
+        List<ItemWithBookingsDto> items = itemService.getItemsByIds(owner.getId(),
+                List.of(item1.getId(), bookerItem.getId()));
+
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).getLastBooking()).isNotNull();
+        assertThat(items.get(0).getNextBooking()).isNotNull();
+        assertThat(items.get(1).getNextBooking()).isNull();
+    }
+
+    @Test
+    void getItemsByIds_whenManyIds_thenStatementCountIndependentOfItemCount() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwner(i % 2 == 0 ? owner : booker);
+            ids.add(itemRepository.save(item).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemWithBookingsDto> items = itemService.getItemsByIds(owner.getId(), ids);
+
+        assertThat(items).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    private void saveLegacyBooking(Item item, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setItem(item);
+        booking.setCreator(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+    }
+
+    private BookingDto bookingDto(Item item, LocalDateTime start, LocalDateTime end) {
+        BookingDto dto = new BookingDto();
+        dto.setItemId(item.getId());
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a test transaction, so every batch commits or rolls back on its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemImportBatchCommitTest {
+    private static final int BATCH_SIZE = ItemImportServiceImpl.BATCH_SIZE;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Importer");
+        owner.setEmail("importer@example.com");
+        owner = userRepository.save(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll(itemRepository.findAllByOwnerId(owner.getId()));
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void importItems_whenOneBatchFails_thenOtherBatchesCommitted() throws IOException {
+        int rowCount = BATCH_SIZE * 3;
+        int badLine = BATCH_SIZE + 10;
+        StringBuilder body = new StringBuilder();
+        for (int line = 1; line <= rowCount; line++) {
+            String name = line == badLine ? "x".repeat(300) : "Вещь " + line;
+            body.append("{\"name\":\"").append(name).append("\",\"description\":\"Описание\",\"available\":true}\n");
+        }
+
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(),
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), 1);
+
+        assertThat(result.getImported()).isEqualTo(BATCH_SIZE * 2);
+        assertThat(result.getFailed()).isEqualTo(BATCH_SIZE);
+        assertThat(result.getErrors()).first()
+                .isEqualTo(new ItemImportErrorDto(BATCH_SIZE + 1, "Не удалось сохранить вещь"));
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).hasSize(BATCH_SIZE * 2)
+                .noneMatch(item -> item.getName().equals("Вещь " + (BATCH_SIZE + 1)));
+    }
+}
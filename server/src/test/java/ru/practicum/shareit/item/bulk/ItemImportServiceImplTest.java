@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item.bulk;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ItemImportServiceImplTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void importItems_whenAllRowsValid_thenSavesItemsForOwner() throws IOException {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setCreator(owner);
+        request.setCreatedAt(LocalDateTime.now());
+        request = itemRequestRepository.save(request);
+
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(), ndjson(
+                "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true,\"requestId\":" + request.getId() + "}",
+                "{\"name\":\"Пила\",\"description\":\"Циркулярная пила\",\"available\":false}"
+        ), 1);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+        List<Item> items = itemRepository.findAllByOwnerId(owner.getId());
+        assertThat(items).extracting(Item::getName).containsExactlyInAnyOrder("Дрель", "Пила");
+        assertThat(items).filteredOn(item -> item.getName().equals("Дрель"))
+                .extracting(item -> item.getRequest().getId())
+                .containsExactly(request.getId());
+    }
+
+    @Test
+    void importItems_whenRowsInvalid_thenReportsLineNumbersAndSavesRest() throws IOException {
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(), ndjson(
+                "{\"name\":\"Дрель\",\"description\":\"Ударная дрель\",\"available\":true}",
+                "{not json",
+                "",
+                "{\"name\":\" \",\"description\":\"Без названия\",\"available\":true}",
+                "{\"name\":\"Пила\",\"description\":\"Циркулярная пила\"}",
+                "{\"name\":\"Лестница\",\"description\":\"Стремянка\",\"available\":true,\"requestId\":999999}"
+        ), 10);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).containsExactly(
+                new ItemImportErrorDto(11, "Некорректный JSON"),
+                new ItemImportErrorDto(13, "Название не может быть пустым"),
+                new ItemImportErrorDto(14, "Доступность должна быть указана"),
+                new ItemImportErrorDto(15, "Запрос не найден")
+        );
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).extracting(Item::getName)
+                .containsExactly("Дрель");
+    }
+
+    @Test
+    void importItems_whenLineTooLong_thenRejectsOnlyThatLine() throws IOException {
+        String longDescription = "x".repeat(ItemImportServiceImpl.MAX_LINE_BYTES);
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(), ndjson(
+                "{\"name\":\"Дрель\",\"description\":\"" + longDescription + "\",\"available\":true}",
+                "{\"name\":\"Пила\",\"description\":\"Циркулярная пила\",\"available\":true}"
+        ), 1);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDto::getLine).containsExactly(1L);
+    }
+
+    @Test
+    void importItems_whenManyErrors_thenReportsOnlyFirstErrors() throws IOException {
+        String[] lines = new String[ItemImportServiceImpl.MAX_REPORTED_ERRORS + 20];
+        Arrays.fill(lines, "{}");
+
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(), ndjson(lines), 1);
+
+        assertThat(result.getFailed()).isEqualTo(lines.length);
+        assertThat(result.getErrors()).hasSize(ItemImportServiceImpl.MAX_REPORTED_ERRORS);
+    }
+
+    @Test
+    void importItems_whenManyRows_thenInsertsInBatches() throws IOException {
+        int rowCount = ItemImportServiceImpl.BATCH_SIZE + 10;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            body.append("{\"name\":\"Вещь ").append(i)
+                    .append("\",\"description\":\"Описание\",\"available\":true}\n");
+        }
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResultDto result = itemImportService.importItems(owner.getId(),
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), 1);
+
+        assertThat(result.getImported()).isEqualTo(rowCount);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rowCount);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(rowCount / 10);
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenThrowsNotFoundException() {
+        assertThrows(NotFoundException.class,
+                () -> itemImportService.importItems(999L, ndjson("{}"), 1));
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
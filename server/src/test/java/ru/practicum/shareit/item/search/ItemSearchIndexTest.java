@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        index = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    void search_whenNotWarmedUp_thenReturnEmpty() {
+        index.index(item(1L, "Дрель", "Аккумуляторная дрель", true));
+
+        assertThat(index.search("дрель", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_whenCaseAndYoDiffer_thenMatchSubstring() {
+        index.warmUp();
+        index.index(item(1L, "Ёлочная гирлянда", "Светодиодная", true));
+        index.index(item(2L, "Дрель", "Аккумуляторная дрель", true));
+
+        assertThat(index.search("ЕЛОЧ", 0, 10)).contains(List.of(1L));
+        assertThat(index.search("КУМУЛЯТОР", 0, 10)).contains(List.of(2L));
+    }
+
+    @Test
+    void search_whenNameAndDescriptionMatch_thenRankNameMatchesFirst() {
+        index.warmUp();
+        index.index(item(1L, "Отвертка", "Подходит к дрели", true));
+        index.index(item(2L, "Дрель ударная", "Мощная", true));
+
+        assertThat(index.search("дрел", 0, 10)).contains(List.of(2L, 1L));
+    }
+
+    @Test
+    void search_whenPhraseSpansWords_thenRequireWholeSubstring() {
+        index.warmUp();
+        index.index(item(1L, "Дрель аккумуляторная", "", true));
+        index.index(item(2L, "Аккумуляторная дрель", "", true));
+
+        assertThat(index.search("дрель акку", 0, 10)).contains(List.of(1L));
+    }
+
+    @Test
+    void search_whenQueryHasOnlySeparators_thenReturnNothing() {
+        index.warmUp();
+        index.index(item(1L, "Дрель - ударная", "", true));
+
+        assertThat(index.search(" - ", 0, 10)).contains(List.of());
+    }
+
+    @Test
+    void search_whenItemUnavailable_thenExclude() {
+        index.warmUp();
+        index.index(item(1L, "Дрель", "", false));
+
+        assertThat(index.search("дрель", 0, 10)).contains(List.of());
+    }
+
+    @Test
+    void search_whenItemReindexed_thenOldTermsForgotten() {
+        index.warmUp();
+        index.index(item(1L, "Дрель", "", true));
+        index.index(item(1L, "Пила", "", true));
+
+        assertThat(index.search("дрель", 0, 10)).contains(List.of());
+        assertThat(index.search("пила", 0, 10)).contains(List.of(1L));
+    }
+
+    @Test
+    void search_whenPaged_thenSkipAndLimit() {
+        index.warmUp();
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Дрель " + id, "", true));
+        }
+
+        assertThat(index.search("дрель", 2, 2)).contains(List.of(3L, 4L));
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemSearchTrigramInitializerTest {
+
+    @Test
+    void createIndexes_whenPostgresql_thenCreateTrigramIndexes() throws SQLException {
+        JdbcTemplate jdbcTemplate = jdbcTemplateFor("PostgreSQL");
+
+        new ItemSearchTrigramInitializer(jdbcTemplate).createIndexes();
+
+        verify(jdbcTemplate).execute(ItemSearchTrigramInitializer.CREATE_EXTENSION);
+        ItemSearchTrigramInitializer.INDEXES.values().forEach(sql -> verify(jdbcTemplate).execute(sql));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP INDEX"));
+    }
+
+    @Test
+    void createIndexes_whenIndexLeftInvalid_thenDropAndRebuild() throws SQLException {
+        JdbcTemplate jdbcTemplate = jdbcTemplateFor("PostgreSQL");
+        when(jdbcTemplate.queryForList(ItemSearchTrigramInitializer.INVALID_INDEX_QUERY, Boolean.class,
+                "idx_items_name_trgm")).thenReturn(List.of(true));
+
+        new ItemSearchTrigramInitializer(jdbcTemplate).createIndexes();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_items_name_trgm");
+        inOrder.verify(jdbcTemplate).execute(ItemSearchTrigramInitializer.INDEXES.get("idx_items_name_trgm"));
+        verify(jdbcTemplate, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_items_description_trgm");
+    }
+
+    @Test
+    void createIndexes_whenH2_thenDoNothing() throws SQLException {
+        JdbcTemplate jdbcTemplate = jdbcTemplateFor("H2");
+
+        new ItemSearchTrigramInitializer(jdbcTemplate).createIndexes();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private JdbcTemplate jdbcTemplateFor(String productName) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        return jdbcTemplate;
+    }
+}
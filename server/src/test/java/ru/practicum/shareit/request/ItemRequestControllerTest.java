@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -114,7 +115,7 @@ class ItemRequestControllerTest {
 
         List<ItemRequestDto> requests = Arrays.asList(request1, request2);
 
-        when(itemRequestService.getAllRequests(userId)).thenReturn(requests);
+        when(itemRequestService.getAllRequests(userId, 0, 10, null)).thenReturn(new CursorPage<>(requests, null));
 
         mockMvc.perform(get("/requests/all")
                         .header(USER_ID_HEADER, userId))
@@ -126,7 +127,24 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].description").value("Need a saw"));
 
-        verify(itemRequestService, times(1)).getAllRequests(userId);
+        verify(itemRequestService, times(1)).getAllRequests(userId, 0, 10, null);
+    }
+
+    @Test
+    void getAllRequests_whenMoreRequestsAvailable_thenReturnsNextCursorHeader() throws Exception {
+        Long userId = 1L;
+        ItemRequestDto request = new ItemRequestDto(1L, "Need a drill", LocalDateTime.now(), Collections.emptyList());
+
+        when(itemRequestService.getAllRequests(userId, 0, 1, "abc"))
+                .thenReturn(new CursorPage<>(List.of(request), "next"));
+
+        mockMvc.perform(get("/requests/all")
+                        .header(USER_ID_HEADER, userId)
+                        .param("size", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1));
     }
 
     @Test
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +11,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +41,9 @@ class ItemRequestServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User requester;
     private User itemOwner;
     private ItemRequest request1;
@@ -121,7 +129,8 @@ class ItemRequestServiceImplTest {
         request3.setCreatedAt(LocalDateTime.now());
         itemRequestRepository.save(request3);
 
-        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId());
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId(), 0, 10, null)
+                .getContent();
 
         assertThat(requests).isNotNull();
         assertThat(requests).hasSize(1);
@@ -166,7 +175,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getAllRequests_whenUserNotFound_thenThrowNotFoundException() {
         assertThrows(NotFoundException.class, () -> {
-            itemRequestService.getAllRequests(999L);
+            itemRequestService.getAllRequests(999L, 0, 10, null);
         });
     }
 
@@ -186,7 +195,8 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getAllRequests_whenNoOtherUserRequests_thenReturnEmptyList() {
-        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId());
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId(), 0, 10, null)
+                .getContent();
 
         assertThat(requests).isNotNull();
         assertThat(requests).isEmpty();
@@ -233,5 +243,78 @@ class ItemRequestServiceImplTest {
         assertThat(requests).hasSize(1);
         assertThat(requests.get(0).getItems()).isEmpty();
     }
-}
 
+    @Test
+    void getAllRequests_whenManyRequestsWithItems_thenStatementCountIndependentOfRequestCount() {
+        for (int i = 0; i < 40; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Request " + i);
+            request.setCreator(itemOwner);
+            request.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            request = itemRequestRepository.save(request);
+
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Answer " + i);
+            item.setAvailable(true);
+            item.setOwner(requester);
+            item.setRequest(request);
+            itemRepository.save(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId(), 0, 50, null)
+                .getContent();
+
+        assertThat(requests).hasSize(40).allSatisfy(request -> assertThat(request.getItems()).hasSize(1));
+        assertThat(requests.getFirst().getItems().getFirst().getRequestId()).isEqualTo(requests.getFirst().getId());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(40);
+    }
+
+    @Test
+    void getAllRequests_withCursor_thenContinueAfterLastReturnedRequest() {
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Request " + i);
+            request.setCreator(itemOwner);
+            request.setCreatedAt(i < 2 ? created : created.minusHours(i));
+            itemRequestRepository.save(request);
+        }
+
+        CursorPage<ItemRequestDto> first = itemRequestService.getAllRequests(requester.getId(), 0, 2, null);
+        CursorPage<ItemRequestDto> second = itemRequestService.getAllRequests(requester.getId(), 0, 2,
+                first.getNextCursor());
+        CursorPage<ItemRequestDto> third = itemRequestService.getAllRequests(requester.getId(), 0, 2,
+                second.getNextCursor());
+
+        assertThat(first.getContent()).extracting(ItemRequestDto::getDescription)
+                .containsExactly("Request 1", "Request 0");
+        assertThat(second.getContent()).extracting(ItemRequestDto::getDescription)
+                .containsExactly("Request 2", "Request 3");
+        assertThat(third.getContent()).extracting(ItemRequestDto::getDescription)
+                .containsExactly("Request 4");
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllRequests_withOffset_thenReturnRequestedSlice() {
+        for (int i = 0; i < 3; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Request " + i);
+            request.setCreator(itemOwner);
+            request.setCreatedAt(LocalDateTime.now().minusHours(i));
+            itemRequestRepository.save(request);
+        }
+
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId(), 1, 1, null)
+                .getContent();
+
+        assertThat(requests).extracting(ItemRequestDto::getDescription).containsExactly("Request 1");
+    }
+}
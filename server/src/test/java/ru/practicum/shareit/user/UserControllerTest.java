@@ -103,6 +103,21 @@ class UserControllerTest {
         verify(userService, times(1)).getAllUsers();
     }
 
+    @Test
+    void getUsersByIds_whenIdsGiven_thenReturnsRequestedUsers() throws Exception {
+        when(userService.getUsersByIds(List.of(2L, 1L))).thenReturn(List.of(
+                new UserDto(2L, "Jane Doe", "jane@example.com"),
+                new UserDto(1L, "John Doe", "john@example.com")));
+
+        mockMvc.perform(get("/users").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        verify(userService, never()).getAllUsers();
+    }
+
     @Test
     void deleteUser_whenUserExists_thenDeletesUser() throws Exception {
         Long userId = 1L;
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class UserExistenceCheckerTest {
+
+    @Autowired
+    private UserExistenceChecker userExistenceChecker;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("User");
+        user.setEmail("user@example.com");
+        user = userRepository.save(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void requireExists_whenCalledRepeatedly_thenQueriesOnceWithoutLoadingUser() {
+        for (int i = 0; i < 5; i++) {
+            userExistenceChecker.requireExists(user.getId());
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void requireExists_whenUserMissing_thenThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> userExistenceChecker.requireExists(999L));
+        assertThrows(NotFoundException.class, () -> userExistenceChecker.requireExists(999L));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void requireExists_whenUserDeleted_thenThrowNotFoundException() {
+        userExistenceChecker.requireExists(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userExistenceChecker.requireExists(user.getId()));
+    }
+}
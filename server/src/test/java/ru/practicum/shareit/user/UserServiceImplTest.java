@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +28,9 @@ class UserServiceImplTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void createUser_whenValidUser_thenUserCreated() {
         UserDto userDto = new UserDto();
@@ -224,5 +231,33 @@ class UserServiceImplTest {
 
         assertThat(users).isNotNull();
     }
-}
 
+    @Test
+    void getUsersByIds_whenIdsRequested_thenReturnInRequestedOrderSkippingUnknown() {
+        UserDto first = userService.createUser(new UserDto(null, "First", "first@example.com"));
+        UserDto second = userService.createUser(new UserDto(null, "Second", "second@example.com"));
+
+        List<UserDto> users = userService.getUsersByIds(List.of(second.getId(), 999L, first.getId()));
+
+        assertThat(users).extracting(UserDto::getName).containsExactly("Second", "First");
+    }
+
+    @Test
+    void saveAll_whenManyUsers_thenInsertedInBatches() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("batch" + i + "@example.com");
+            users.add(user);
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userRepository.saveAll(users);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+}